@@ -0,0 +1,74 @@
+#!/bin/bash
+
+# Order intake benchmark: single-order endpoint vs. POST /api/v1/orders:batch
+# Creates the same number of orders through both endpoints and prints orders/sec for each.
+# Usage: ./bench-orders.sh [total-orders] [batch-size] [concurrency]
+
+set -e
+
+# Configuration
+BASE_URL=${ORDER_SERVICE_URL:-"http://localhost:8080"}
+TOTAL_ORDERS=${1:-2000}
+BATCH_SIZE=${2:-500}
+CONCURRENCY=${3:-8}
+
+# Both runs create the same number of orders
+TOTAL_ORDERS=$(( TOTAL_ORDERS / BATCH_SIZE * BATCH_SIZE ))
+
+# Colors for output
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+ORDER='{"userId":"bench-user","items":[{"sku":"SKU-BENCH","qty":1,"price":9.99}]}'
+
+now() {
+    date +%s.%N
+}
+
+report() {
+    local label=$1
+    local started=$2
+    local finished=$3
+    awk -v label="$label" -v n="$TOTAL_ORDERS" -v s="$started" -v f="$finished" \
+        'BEGIN { printf "%-8s %6d orders in %7.2fs = %8.1f orders/sec\n", label, n, f - s, n / (f - s) }'
+}
+
+post() {
+    local path=$1
+    local body=$2
+    curl -s -o /dev/null -w "%{http_code}\n" -X POST "${BASE_URL}${path}" \
+        -H "Content-Type: application/json" -d "$body"
+}
+export -f post
+export BASE_URL
+
+batch_body() {
+    local size=$1
+    local orders
+    orders=$(printf "${ORDER},%.0s" $(seq 1 "$size"))
+    echo "{\"orders\":[${orders%,}]}"
+}
+
+echo -e "${YELLOW}Benchmarking ${TOTAL_ORDERS} orders against ${BASE_URL} (concurrency ${CONCURRENCY})${NC}"
+
+# Single-order endpoint: one HTTP call and one transaction per order
+started=$(now)
+seq 1 "$TOTAL_ORDERS" \
+    | xargs -P "$CONCURRENCY" -I{} bash -c "post /api/v1/orders '$ORDER'" \
+    | grep -cv '^201$' | xargs -I{} echo "single: {} non-201 responses"
+finished=$(now)
+single=$(report "single" "$started" "$finished")
+
+# Batch endpoint: one HTTP call per BATCH_SIZE orders, chunked transactions with batched inserts
+BODY=$(batch_body "$BATCH_SIZE")
+export BODY
+started=$(now)
+seq 1 $(( TOTAL_ORDERS / BATCH_SIZE )) \
+    | xargs -P "$CONCURRENCY" -I{} bash -c 'post /api/v1/orders:batch "$BODY"' \
+    | grep -cv '^201$' | xargs -I{} echo "batch:  {} non-201 responses"
+finished=$(now)
+batch=$(report "batch" "$started" "$finished")
+
+echo -e "${GREEN}${single}${NC}"
+echo -e "${GREEN}${batch}${NC}"
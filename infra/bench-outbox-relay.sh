@@ -0,0 +1,116 @@
+#!/bin/bash
+
+# Outbox relay benchmark: app.outbox.publish-mode=sync vs. pipelined
+# Seeds the same outbox backlog for each mode, starts order-service with that mode and prints
+# events/sec from the first relayed event until the backlog is empty.
+# Needs Postgres and Kafka up, order-service stopped and at least one OrderCreated outbox row
+# (create an order first) whose payload is cloned into the backlog.
+# Usage: ./bench-outbox-relay.sh [events] [events-per-order] [batch-size]
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+# Configuration
+TOTAL_EVENTS=${1:-20000}
+EVENTS_PER_ORDER=${2:-1}
+BATCH_SIZE=${3:-500}
+SERVICE_CMD=${ORDER_SERVICE_CMD:-"mvn -q -f order-service/pom.xml spring-boot:run"}
+PSQL="psql -h ${DB_HOST:-localhost} -p ${DB_PORT:-5432} -U ${DB_USER:-orderuser} -d ${DB_NAME:-orderdb} -qtAX -v ON_ERROR_STOP=1"
+
+# Colors for output
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+SERVICE_PID=""
+RESULTS=()
+
+now() {
+    date +%s.%N
+}
+
+report() {
+    local label=$1
+    local started=$2
+    local finished=$3
+    awk -v label="$label" -v n="$TOTAL_EVENTS" -v s="$started" -v f="$finished" \
+        'BEGIN { printf "%-10s %6d events in %7.2fs = %8.1f events/sec\n", label, n, f - s, n / (f - s) }'
+}
+
+pending() {
+    $PSQL -c "SELECT count(*) FROM outbox_events WHERE aggregate_id LIKE 'BENCH-%' AND processed_at IS NULL"
+}
+
+# Clones the latest OrderCreated payload onto TOTAL_EVENTS rows spread over
+# TOTAL_EVENTS / EVENTS_PER_ORDER bench aggregates, so both modes relay identical backlogs
+seed() {
+    local run=$1
+    $PSQL <<SQL
+INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at)
+SELECT 'Order', o.order_id, 'OrderCreated', jsonb_set(t.payload, '{orderId}', to_jsonb(o.order_id)),
+       clock_timestamp()
+FROM (SELECT payload FROM outbox_events
+      WHERE event_type = 'OrderCreated' AND payload IS NOT NULL AND aggregate_id NOT LIKE 'BENCH-%'
+      ORDER BY created_at DESC LIMIT 1) t
+CROSS JOIN LATERAL (
+    SELECT 'BENCH-${run}-' || ((n - 1) / ${EVENTS_PER_ORDER}) AS order_id
+    FROM generate_series(1, ${TOTAL_EVENTS}) n
+) o;
+SQL
+    if [ "$(pending)" -ne "$TOTAL_EVENTS" ]; then
+        echo "No OrderCreated outbox row to clone; create an order first"
+        exit 1
+    fi
+}
+
+start_service() {
+    local mode=$1
+    # Short polling interval so the relay, not the scheduler, bounds the throughput
+    SPRING_APPLICATION_JSON="{\"app\":{\"outbox\":{\"publish-mode\":\"${mode}\",\"polling-interval\":50,\"batch-size\":${BATCH_SIZE}}}}" \
+        setsid $SERVICE_CMD > "/tmp/bench-outbox-relay-${mode}.log" 2>&1 &
+    SERVICE_PID=$!
+}
+
+stop_service() {
+    if [ -n "$SERVICE_PID" ]; then
+        kill -- "-$SERVICE_PID" 2>/dev/null || true
+        wait "$SERVICE_PID" 2>/dev/null || true
+        SERVICE_PID=""
+    fi
+}
+
+cleanup() {
+    stop_service
+    $PSQL -c "DELETE FROM outbox_events WHERE aggregate_id LIKE 'BENCH-%'" || true
+}
+trap cleanup EXIT
+
+run() {
+    local mode=$1
+    local started
+
+    seed "$mode"
+    start_service "$mode"
+
+    # Start the clock at the first relayed event, so service startup is not counted
+    while [ "$(pending)" -eq "$TOTAL_EVENTS" ]; do
+        sleep 0.05
+    done
+    started=$(now)
+    while [ "$(pending)" -gt 0 ]; do
+        sleep 0.05
+    done
+    RESULTS+=("$(report "$mode" "$started" "$(now)")")
+
+    stop_service
+}
+
+echo -e "${YELLOW}Relaying ${TOTAL_EVENTS} outbox events (${EVENTS_PER_ORDER} per order, batch size ${BATCH_SIZE})${NC}"
+
+run sync
+run pipelined
+
+for result in "${RESULTS[@]}"; do
+    echo -e "${GREEN}${result}${NC}"
+done
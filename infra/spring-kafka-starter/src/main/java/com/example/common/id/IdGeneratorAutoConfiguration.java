@@ -0,0 +1,19 @@
+package com.example.common.id;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Exposes the process-wide {@link TimeOrderedIdGenerator} as a bean, so services inject the
+ * same instance that Hibernate ID generators reach through {@link TimeOrderedIdGenerator#shared()}.
+ */
+@AutoConfiguration
+public class IdGeneratorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TimeOrderedIdGenerator timeOrderedIdGenerator() {
+        return TimeOrderedIdGenerator.shared();
+    }
+}
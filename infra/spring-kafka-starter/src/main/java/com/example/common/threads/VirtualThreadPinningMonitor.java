@@ -0,0 +1,108 @@
+package com.example.common.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the in-process JFR stream for {@code jdk.VirtualThreadPinned}: a virtual thread that
+ * blocked while pinned to its carrier (inside {@code synchronized} or a native frame) for longer
+ * than the threshold. Each pin is timed as {@code virtual.threads.pinned}, and the first pin from
+ * each call site is logged with its stack, which is what is needed to fix it.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 20;
+    // Stops remembering call sites past this, so a pathological app cannot grow the map forever
+    private static final int MAX_REPORTED_SITES = 1000;
+
+    private final Timer pinned;
+    private final Duration threshold;
+    private final Map<String, Boolean> reportedSites = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = meterRegistry == null ? null : Timer.builder("virtual.threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            logger.info("Virtual thread pinning detection started with threshold {}", threshold);
+        } catch (Exception e) {
+            // JFR can be unavailable (e.g. some minimal runtimes); pinning then goes unreported
+            logger.warn("Virtual thread pinning detection unavailable", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        if (pinned != null) {
+            pinned.record(event.getDuration());
+        }
+
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        // The top frames are the JDK parking code; the call site is the first frame outside it
+        String site = frames.stream()
+                .filter(frame -> !isJdkFrame(frame))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse(describe(frames.get(0)));
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.putIfAbsent(site, Boolean.TRUE) == null) {
+            logger.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), site, stack);
+        }
+    }
+
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.common.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Opt-in virtual-thread mode, switched on with Spring Boot's own {@code spring.threads.virtual.enabled}
+ * (or {@code SPRING_THREADS_VIRTUAL_ENABLED=true}). Boot then runs Tomcat requests and
+ * {@code @Scheduled} tasks on virtual threads; this configuration covers what Boot does not:
+ * <ul>
+ *     <li>listener containers of the services' own {@code kafkaListenerContainerFactory} beans,
+ *     which Boot's Kafka configurer never sees;</li>
+ *     <li>JFR-based detection of virtual threads pinned to their carrier;</li>
+ *     <li>a bulkhead in front of each {@link DataSource}, so thousands of cheap threads queue
+ *     in bounded numbers for connections instead of piling up on the pool.</li>
+ * </ul>
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.threads.virtual.pinning.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.threads.virtual.pinning.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry.getIfAvailable(), threshold);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(AbstractKafkaListenerContainerFactory.class)
+    static class KafkaListenerVirtualThreadsConfiguration {
+
+        @Bean
+        static BeanPostProcessor kafkaListenerVirtualThreadsPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory
+                            && factory.getContainerProperties().getListenerTaskExecutor() == null) {
+                        // Consumer threads block in poll() and in the listeners' JDBC calls
+                        factory.getContainerProperties().setListenerTaskExecutor(
+                                new VirtualThreadTaskExecutor(beanName + "-"));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.jdbc.datasource.DelegatingDataSource")
+    @ConditionalOnProperty(name = "app.threads.virtual.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+    static class DataSourceBulkheadConfiguration {
+
+        @Bean
+        static BeanPostProcessor dataSourceBulkheadPostProcessor(
+                @Value("${app.threads.virtual.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+                @Value("${app.threads.virtual.bulkhead.max-waiting:200}") int maxWaiting,
+                @Value("${app.threads.virtual.bulkhead.acquire-timeout:5s}") Duration acquireTimeout) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    // A DataSource bean delegating to another one (e.g. a proxy around the pool) is
+                    // already behind that one's bulkhead; a second would double-count its callers
+                    if (bean instanceof DataSource dataSource && !isBehindBulkhead(dataSource)) {
+                        return new BulkheadDataSource(dataSource, maxConcurrent, maxWaiting, acquireTimeout);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        static boolean isBehindBulkhead(DataSource dataSource) {
+            try {
+                return dataSource.isWrapperFor(BulkheadDataSource.class);
+            } catch (SQLException | RuntimeException e) {
+                // e.g. a routing DataSource that cannot resolve a target yet
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = TimeOrderedIdGenerator.EPOCH_MILLIS + 1_234_567L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Test
+    void nextId_ShouldBeUniqueAndIncreasingAcrossThreads() throws Exception {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1);
+        int threads = 8;
+        int idsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                long[] ids = new long[idsPerThread];
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+
+        // Then
+        Set<Long> unique = new HashSet<>();
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get();
+            for (int i = 0; i < ids.length; i++) {
+                if (i > 0) {
+                    assertTrue(ids[i] > ids[i - 1], "IDs of one thread must strictly increase");
+                }
+                unique.add(ids[i]);
+            }
+        }
+        executor.shutdown();
+        assertEquals(threads * idsPerThread, unique.size());
+    }
+
+    @Test
+    void nextId_ShouldPlaceTimestampWorkerAndSequenceInTheirBits() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(5, clock::get);
+
+        // When
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        // Then: 41 bits of milliseconds, 10 bits of worker ID, 12 bits of sequence
+        long millis = NOW - TimeOrderedIdGenerator.EPOCH_MILLIS;
+        assertEquals(millis << 22 | 5L << 12, first);
+        assertEquals(millis << 22 | 5L << 12 | 1, second);
+        assertEquals(5, generator.getWorkerId());
+    }
+
+    @Test
+    void nextId_ShouldBorrowTheNextMillisecondWhenTheSequenceOverflows() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, clock::get);
+        long millis = NOW - TimeOrderedIdGenerator.EPOCH_MILLIS;
+
+        // When
+        long last = 0;
+        for (int i = 0; i < 4096; i++) {
+            last = generator.nextId();
+        }
+        long overflow = generator.nextId();
+
+        // Then
+        assertEquals(millis, last >>> 22);
+        assertEquals(4095, last & 0xFFF);
+        assertEquals(millis + 1, overflow >>> 22);
+        assertEquals(0, overflow & 0xFFF);
+    }
+
+    @Test
+    void nextId_ShouldKeepIncreasingWhenTheClockStepsBack() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, clock::get);
+        long before = generator.nextId();
+
+        // When
+        clock.set(NOW - 5_000);
+        long after = generator.nextId();
+
+        // Then: continues from the last tick instead of reissuing older IDs
+        assertEquals(before + 1, after);
+        assertEquals(NOW - TimeOrderedIdGenerator.EPOCH_MILLIS, after >>> 22);
+    }
+
+    @Test
+    void nextUuid_ShouldBeVersion7WithTimestampAndWorker() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_WORKER_ID, clock::get);
+
+        // When
+        UUID first = generator.nextUuid();
+        UUID second = generator.nextUuid();
+
+        // Then
+        assertEquals(7, first.version());
+        assertEquals(2, first.variant());
+        assertEquals(NOW, first.getMostSignificantBits() >>> 16);
+        assertEquals(TimeOrderedIdGenerator.MAX_WORKER_ID, (first.getLeastSignificantBits() >>> 52) & 0x3FF);
+        assertTrue(first.getMostSignificantBits() < second.getMostSignificantBits());
+    }
+
+    @Test
+    void encode_ShouldBeFixedWidthCrockfordBase32() {
+        assertEquals("0000000000000", TimeOrderedIdGenerator.encode(0));
+        assertEquals("0000000000010", TimeOrderedIdGenerator.encode(32));
+        assertEquals("000000000000Z", TimeOrderedIdGenerator.encode(31));
+        assertEquals("7ZZZZZZZZZZZZ", TimeOrderedIdGenerator.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    void nextIdWithPrefix_ShouldSortInCreationOrder() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3, clock::get);
+
+        // When: spans a sequence overflow and a clock step forward
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            if (i == 4500) {
+                clock.addAndGet(60_000);
+            }
+            ids.add(generator.nextId("ORD-"));
+        }
+
+        // Then
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(ids, sorted);
+        assertTrue(ids.stream().allMatch(id -> id.length() == "ORD-".length() + 13));
+    }
+
+    @Test
+    void constructor_ShouldRejectOutOfRangeWorkerIds() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_WORKER_ID + 1));
+    }
+}
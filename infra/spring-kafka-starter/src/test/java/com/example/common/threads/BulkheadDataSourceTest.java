@@ -0,0 +1,110 @@
+package com.example.common.threads;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection targetConnection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(targetDataSource.getConnection()).thenReturn(targetConnection);
+    }
+
+    @Test
+    void getConnection_ShouldLimitConcurrentConnections() throws SQLException {
+        // Given
+        BulkheadDataSource bulkhead = new BulkheadDataSource(targetDataSource, 2, 0, Duration.ofMillis(50));
+
+        // When
+        bulkhead.getConnection();
+        bulkhead.getConnection();
+
+        // Then
+        assertEquals(0, bulkhead.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_ShouldTimeOutWhenNoPermitIsReleased() throws SQLException {
+        // Given
+        BulkheadDataSource bulkhead = new BulkheadDataSource(targetDataSource, 1, 1, Duration.ofMillis(50));
+        bulkhead.getConnection();
+
+        // When & Then
+        SQLTransientConnectionException e = assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+        assertTrue(e.getMessage().contains("50ms"));
+        assertEquals(0, bulkhead.getWaiting());
+    }
+
+    @Test
+    void close_ShouldReleaseThePermitOnce() throws SQLException {
+        // Given
+        BulkheadDataSource bulkhead = new BulkheadDataSource(targetDataSource, 1, 0, Duration.ofMillis(50));
+        Connection connection = bulkhead.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertEquals(1, bulkhead.getAvailablePermits());
+        verify(targetConnection, times(1)).close();
+        assertNotNull(bulkhead.getConnection());
+    }
+
+    @Test
+    void getConnection_ShouldReleaseThePermitWhenTheTargetFails() throws SQLException {
+        // Given
+        BulkheadDataSource bulkhead = new BulkheadDataSource(targetDataSource, 1, 0, Duration.ofMillis(50));
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // When & Then
+        assertThrows(SQLException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_ShouldHandTheFreedPermitToAWaitingCaller() throws Exception {
+        // Given
+        BulkheadDataSource bulkhead = new BulkheadDataSource(targetDataSource, 1, 1, Duration.ofSeconds(5));
+        Connection held = bulkhead.getConnection();
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                bulkhead.getConnection().close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (bulkhead.getWaiting() == 0) {
+            Thread.sleep(5);
+        }
+
+        // When
+        held.close();
+        waiter.join(5000);
+
+        // Then
+        assertFalse(waiter.isAlive());
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+}
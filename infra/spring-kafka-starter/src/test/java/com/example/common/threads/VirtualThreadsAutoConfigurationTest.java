@@ -0,0 +1,71 @@
+package com.example.common.threads;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(VirtualThreadsAutoConfiguration.class))
+            .withPropertyValues("spring.threads.virtual.enabled=true", "app.threads.virtual.pinning.enabled=false");
+
+    @Test
+    void dataSourceBulkhead_ShouldWrapDataSourceBeans() {
+        contextRunner
+                .withBean("dataSource", DataSource.class, () -> new DriverManagerDataSource("jdbc:h2:mem:pool"))
+                .run(context -> assertInstanceOf(BulkheadDataSource.class, context.getBean("dataSource")));
+    }
+
+    @Test
+    void dataSourceBulkhead_ShouldNotWrapADataSourceThatDelegatesToAWrappedOne() {
+        contextRunner
+                .withUserConfiguration(NestedDataSourceConfiguration.class)
+                .run(context -> {
+                    DataSource pool = context.getBean("pool", DataSource.class);
+                    DataSource dataSource = context.getBean("dataSource", DataSource.class);
+                    assertInstanceOf(BulkheadDataSource.class, pool);
+                    LazyConnectionDataSourceProxy proxy = assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+                    assertSame(pool, proxy.getTargetDataSource());
+                });
+    }
+
+    @Test
+    void dataSourceBulkhead_ShouldBackOffWhenDisabled() {
+        contextRunner
+                .withPropertyValues("app.threads.virtual.bulkhead.enabled=false")
+                .withBean("dataSource", DataSource.class, () -> new DriverManagerDataSource("jdbc:h2:mem:pool"))
+                .run(context -> assertInstanceOf(DriverManagerDataSource.class, context.getBean("dataSource")));
+    }
+
+    @Test
+    void dataSourceBulkhead_ShouldBackOffWithoutVirtualThreads() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(VirtualThreadsAutoConfiguration.class))
+                .withBean("dataSource", DataSource.class, () -> new DriverManagerDataSource("jdbc:h2:mem:pool"))
+                .run(context -> assertInstanceOf(DriverManagerDataSource.class, context.getBean("dataSource")));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class NestedDataSourceConfiguration {
+
+        @Bean
+        DataSource pool() {
+            return new DriverManagerDataSource("jdbc:h2:mem:pool");
+        }
+
+        @Bean
+        DataSource dataSource(@Qualifier("pool") DataSource pool) {
+            return new LazyConnectionDataSourceProxy(pool);
+        }
+    }
+}
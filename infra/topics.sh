@@ -91,6 +91,7 @@ main() {
 
     # Command topics (events)
     create_topic "order.created"
+    create_topic "order.status-changed"
     create_topic "payment.requested"
     create_topic "payment.authorized"
     create_topic "payment.failed"
@@ -100,6 +101,10 @@ main() {
     create_topic "order.completed"
     create_topic "order.cancelled"
 
+    # Order intake over Kafka; same partition count as order.created
+    create_topic "order.requests"
+    create_topic "order.request-replies"
+
     echo ""
     echo "Creating retry and DLT topics..."
     echo "--------------------------------"
@@ -1,5 +1,6 @@
 package com.example.orderservice.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -7,6 +8,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @Configuration
 @EnableScheduling
 @EnableTransactionManagement
+@EnableConfigurationProperties(OutboxRoutingProperties.class)
 public class ApplicationConfig {
     // Additional configuration beans can be added here if needed
 }
@@ -0,0 +1,98 @@
+package com.example.orderservice.config;
+
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import io.confluent.kafka.serializers.KafkaAvroDeserializerConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.Map;
+
+/**
+ * Consumer side of order-service: batch listener containers, so a whole poll is handed to the
+ * listener at once and its offsets are committed after it returns. One container factory per
+ * source, each with its own consumer group and poll size.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${app.orders.saga-sync.group-id:order-service}")
+    private String sagaReplyGroupId;
+
+    @Value("${app.orders.saga-sync.max-poll-records:500}")
+    private int sagaReplyMaxPollRecords;
+
+    @Value("${app.orders.saga-sync.concurrency:1}")
+    private int sagaReplyConcurrency;
+
+    @Value("${app.orders.ingest.group-id:order-service-ingest}")
+    private String ingestGroupId;
+
+    @Value("${app.orders.ingest.max-poll-records:500}")
+    private int ingestMaxPollRecords;
+
+    @Value("${app.orders.ingest.concurrency:1}")
+    private int ingestConcurrency;
+
+    @Bean
+    public ConsumerFactory<String, Object> sagaReplyConsumerFactory(KafkaProperties kafkaProperties) {
+        return batchConsumerFactory(kafkaProperties, sagaReplyGroupId, sagaReplyMaxPollRecords);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> sagaReplyListenerContainerFactory(
+            ConsumerFactory<String, Object> sagaReplyConsumerFactory) {
+        // A failed batch is redelivered whole; the status UPDATE is idempotent, so that is safe
+        return batchListenerContainerFactory(sagaReplyConsumerFactory, sagaReplyConcurrency);
+    }
+
+    @Bean
+    public ConsumerFactory<String, Object> orderRequestConsumerFactory(KafkaProperties kafkaProperties) {
+        return batchConsumerFactory(kafkaProperties, ingestGroupId, ingestMaxPollRecords);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> orderRequestListenerContainerFactory(
+            ConsumerFactory<String, Object> orderRequestConsumerFactory) {
+        // Redelivered requests replay their order through the requestId idempotency key
+        return batchListenerContainerFactory(orderRequestConsumerFactory, ingestConcurrency);
+    }
+
+    private static ConsumerFactory<String, Object> batchConsumerFactory(KafkaProperties kafkaProperties,
+                                                                        String groupId, int maxPollRecords) {
+        // Starts from spring.kafka.*, which carries bootstrap-servers and schema.registry.url
+        Map<String, Object> configProps = kafkaProperties.buildConsumerProperties(null);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // A record that cannot be deserialized reaches the listener as a null value instead of failing the poll
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, KafkaAvroDeserializer.class);
+        configProps.put(KafkaAvroDeserializerConfig.SPECIFIC_AVRO_READER_CONFIG, true);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    private static ConcurrentKafkaListenerContainerFactory<String, Object> batchListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory, int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, 9L)));
+        return factory;
+    }
+}
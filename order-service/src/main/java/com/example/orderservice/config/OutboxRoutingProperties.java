@@ -0,0 +1,91 @@
+package com.example.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routing table for outbox events: which topic each event type is published to and in which
+ * format. Event types without a route go to {@code default-topic} as JSON.
+ */
+@ConfigurationProperties(prefix = "app.outbox.routing")
+public class OutboxRoutingProperties {
+
+    private static final String AVRO_RECORD_PACKAGE = "com.example.events.";
+
+    private String defaultTopic = "order.events";
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public Route routeFor(String eventType) {
+        Route route = routes.get(eventType);
+        if (route != null) {
+            return route;
+        }
+        Route fallback = new Route();
+        fallback.setTopic(defaultTopic);
+        fallback.setFormat(Format.JSON);
+        return fallback;
+    }
+
+    // Getters and Setters
+    public String getDefaultTopic() {
+        return defaultTopic;
+    }
+
+    public void setDefaultTopic(String defaultTopic) {
+        this.defaultTopic = defaultTopic;
+    }
+
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Route> routes) {
+        this.routes = routes;
+    }
+
+    public enum Format {
+        AVRO, JSON
+    }
+
+    public static class Route {
+
+        private String topic;
+
+        private Format format = Format.AVRO;
+
+        // Generated Avro class; defaults to com.example.events.<EventType>
+        private String recordClass;
+
+        public String recordClassFor(String eventType) {
+            return recordClass != null ? recordClass : AVRO_RECORD_PACKAGE + eventType;
+        }
+
+        // Getters and Setters
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public Format getFormat() {
+            return format;
+        }
+
+        public void setFormat(Format format) {
+            this.format = format;
+        }
+
+        public String getRecordClass() {
+            return recordClass;
+        }
+
+        public void setRecordClass(String recordClass) {
+            this.recordClass = recordClass;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.orderservice.config;
+
+import com.example.orderservice.datasource.ReadReplicaPools;
+import com.example.orderservice.datasource.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only transactions
+ * ({@code @Transactional(readOnly = true)}) to the configured read replicas. Only the routed
+ * DataSource is a bean; the pools behind it are owned by {@link ReadReplicaPools}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    public ReadReplicaPools readReplicaPools(DataSourceProperties dataSourceProperties,
+                                             ReadReplicaProperties readReplicaProperties,
+                                             Environment environment,
+                                             MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Keep honouring spring.datasource.hikari.* as the auto-configured pool did
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        return new ReadReplicaPools(primary, readReplicaProperties, dataSourceProperties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaPools readReplicaPools, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(readReplicaPools, meterRegistry));
+    }
+}
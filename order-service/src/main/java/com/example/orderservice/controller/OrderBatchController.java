@@ -0,0 +1,62 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.dto.BatchCreateOrderRequest;
+import com.example.orderservice.dto.BatchCreateOrderResponse;
+import com.example.orderservice.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulk order intake. Mapped without a class-level prefix because a custom method
+ * ({@code orders:batch}) cannot be expressed as a sub-path of {@link OrderController}.
+ */
+@RestController
+@Tag(name = "Orders", description = "Order management API")
+public class OrderBatchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBatchController.class);
+
+    private final OrderService orderService;
+
+    @Autowired
+    public OrderBatchController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @PostMapping("/api/v1/orders:batch")
+    @Operation(summary = "Create orders in bulk",
+               description = "Creates up to " + BatchCreateOrderRequest.MAX_ORDERS + " orders with batched inserts "
+                       + "and publishes an OrderCreated event for each; results are reported per order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All orders created"),
+        @ApiResponse(responseCode = "207", description = "Some orders failed, see the per-order results"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BatchCreateOrderResponse> createOrders(
+            @Valid @RequestBody BatchCreateOrderRequest request) {
+
+        logger.info("Received batch create request for {} orders", request.getOrders().size());
+
+        try {
+            BatchCreateOrderResponse response = orderService.createOrders(request.getOrders());
+            HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(status).body(response);
+
+        } catch (Exception e) {
+            logger.error("Error creating batch of {} orders", request.getOrders().size(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
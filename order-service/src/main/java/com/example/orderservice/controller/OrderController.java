@@ -1,9 +1,16 @@
 package com.example.orderservice.controller;
 
 import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderPageResponse;
 import com.example.orderservice.dto.OrderResponse;
 import com.example.orderservice.entity.OrderStatus;
+import com.example.orderservice.service.IdempotencyKeyConflictException;
+import com.example.orderservice.service.OrderGroupCommitWriter;
+import com.example.orderservice.service.OrderIdempotencyService;
+import com.example.orderservice.service.OrderIdempotencyService.IdempotentResult;
 import com.example.orderservice.service.OrderService;
+import com.example.orderservice.service.OrderStatusTransitionException;
+import com.example.orderservice.service.OrderStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,11 +20,17 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -26,30 +39,63 @@ public class OrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderStreamService orderStreamService;
+    private final OrderGroupCommitWriter orderGroupCommitWriter;
+    private final OrderIdempotencyService orderIdempotencyService;
+
+    @Value("${app.orders.group-commit.submit-timeout:30000}")
+    private long groupCommitTimeoutMs;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           OrderStreamService orderStreamService,
+                           OrderGroupCommitWriter orderGroupCommitWriter,
+                           OrderIdempotencyService orderIdempotencyService) {
         this.orderService = orderService;
+        this.orderStreamService = orderStreamService;
+        this.orderGroupCommitWriter = orderGroupCommitWriter;
+        this.orderIdempotencyService = orderIdempotencyService;
     }
 
     @PostMapping
-    @Operation(summary = "Create a new order", description = "Creates a new order and publishes OrderCreated event")
+    @Operation(summary = "Create a new order",
+               description = "Creates a new order and publishes OrderCreated event; retries with the same Idempotency-Key return the original order")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Order created successfully"),
+        @ApiResponse(responseCode = "201", description = "Order created successfully, or replayed (Idempotent-Replayed: true)"),
         @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used with a different request"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<OrderResponse> createOrder(
+            @Parameter(description = "Client-chosen key identifying retries of the same request")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateOrderRequest request) {
 
         logger.info("Received create order request for user: {}", request.getUserId());
 
         try {
-            OrderResponse orderResponse = orderService.createOrder(request);
+            if (idempotencyKey != null) {
+                IdempotentResult result = orderIdempotencyService.createOrder(idempotencyKey, request);
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                        .body(result.order());
+            }
+
+            // Shares a commit with concurrent requests when group commit is enabled
+            OrderResponse orderResponse = awaitOrder(orderGroupCommitWriter.submit(request));
             logger.info("Order created successfully: {}", orderResponse.getOrderId());
             return ResponseEntity.status(HttpStatus.CREATED).body(orderResponse);
 
+        } catch (IdempotencyKeyConflictException e) {
+            logger.warn("Rejected create order request for user {}: {}", request.getUserId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid create order request for user {}: {}", request.getUserId(), e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error creating order for user: {}", request.getUserId(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -91,12 +137,59 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of orders by user",
+               description = "Retrieves a user's orders newest first, one page at a time; pass nextCursor back for the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid user ID or cursor")
+    })
+    public ResponseEntity<OrderPageResponse> getOrdersByUserPage(
+            @Parameter(description = "User ID") @RequestParam String userId,
+            @Parameter(description = "Maximum number of orders") @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor) {
+
+        logger.debug("Getting page of orders for user: {}", userId);
+
+        if (userId == null || userId.trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(orderService.getOrdersByUserPage(userId, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Rejected cursor for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream orders by user",
+               description = "Streams all of a user's orders newest first as newline-delimited JSON")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Orders streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid user ID")
+    })
+    public ResponseEntity<StreamingResponseBody> streamOrdersByUser(
+            @Parameter(description = "User ID") @RequestParam String userId) {
+
+        logger.debug("Streaming orders for user: {}", userId);
+
+        if (userId == null || userId.trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> orderStreamService.streamOrdersByUser(userId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PutMapping("/{orderId}/status")
     @Operation(summary = "Update order status", description = "Updates the status of an existing order")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Order status updated successfully"),
         @ApiResponse(responseCode = "404", description = "Order not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid status")
+        @ApiResponse(responseCode = "400", description = "Invalid status"),
+        @ApiResponse(responseCode = "409", description = "Transition not allowed from the current status, or lost to a concurrent update")
     })
     public ResponseEntity<Void> updateOrderStatus(
             @Parameter(description = "Order ID") @PathVariable String orderId,
@@ -108,6 +201,10 @@ public class OrderController {
             orderService.updateOrderStatus(orderId, status);
             return ResponseEntity.ok().build();
 
+        } catch (OrderStatusTransitionException e) {
+            logger.info("Rejected status update: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
         } catch (RuntimeException e) {
             if (e.getMessage().contains("not found")) {
                 return ResponseEntity.notFound().build();
@@ -116,4 +213,16 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Waits for a group-committed order, rethrowing what it failed with so the caller's catches
+     * see the original exception. A timeout does not cancel the commit; the order may still be created.
+     */
+    private OrderResponse awaitOrder(CompletableFuture<OrderResponse> future) throws Exception {
+        try {
+            return future.get(groupCommitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
 }
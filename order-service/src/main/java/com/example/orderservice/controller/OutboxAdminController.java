@@ -0,0 +1,85 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.dto.OutboxReplayRequest;
+import com.example.orderservice.dto.OutboxReplayStatus;
+import com.example.orderservice.service.OutboxReplayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/outbox")
+@Tag(name = "Outbox Admin", description = "Outbox operations API")
+public class OutboxAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxAdminController.class);
+
+    private final OutboxReplayService outboxReplayService;
+
+    @Autowired
+    public OutboxAdminController(OutboxReplayService outboxReplayService) {
+        this.outboxReplayService = outboxReplayService;
+    }
+
+    @PostMapping("/replays")
+    @Operation(summary = "Replay outbox events", description = "Re-publishes outbox events of a time range, optionally filtered by aggregate ID or event type, at a capped rate")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Replay started"),
+        @ApiResponse(responseCode = "400", description = "Invalid replay request")
+    })
+    public ResponseEntity<OutboxReplayStatus> startReplay(@Valid @RequestBody OutboxReplayRequest request) {
+        logger.info("Received outbox replay request: {}", request);
+
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(outboxReplayService.startReplay(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/replays")
+    @Operation(summary = "List outbox replays", description = "Progress and throughput of every replay since startup")
+    public ResponseEntity<List<OutboxReplayStatus>> getReplays() {
+        return ResponseEntity.ok(outboxReplayService.getReplays());
+    }
+
+    @GetMapping("/replays/{jobId}")
+    @Operation(summary = "Get outbox replay", description = "Progress and throughput of a replay")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Replay found"),
+        @ApiResponse(responseCode = "404", description = "Replay not found")
+    })
+    public ResponseEntity<OutboxReplayStatus> getReplay(
+            @Parameter(description = "Replay job ID") @PathVariable UUID jobId) {
+        return outboxReplayService.getReplay(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/replays/{jobId}")
+    @Operation(summary = "Cancel outbox replay", description = "Stops a running replay after the current event")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Replay cancelled"),
+        @ApiResponse(responseCode = "404", description = "Replay not found")
+    })
+    public ResponseEntity<OutboxReplayStatus> cancelReplay(
+            @Parameter(description = "Replay job ID") @PathVariable UUID jobId) {
+        logger.info("Cancelling outbox replay {}", jobId);
+
+        return outboxReplayService.cancelReplay(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.orderservice.datasource;
+
+import com.example.orderservice.config.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the primary and replica connection pools behind {@link ReadReplicaRoutingDataSource}
+ * and tracks how far each replica is behind. A replica only receives reads while it is in
+ * recovery and within {@code max-lag} of the primary; it starts unavailable until its first
+ * successful check.
+ * <p>
+ * Every pool reports HikariCP's {@code hikaricp.connections.*} meters tagged with its pool
+ * name; this class adds {@code datasource.replica.lag} and {@code datasource.replica.available}.
+ */
+public class ReadReplicaPools implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaPools.class);
+
+    static final String PRIMARY = "primary";
+
+    // An idle primary writes no new transactions, so a replica that has replayed everything it received is not behind
+    private static final String LAG_QUERY = """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                   CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END AS lag_seconds
+            """;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaPools(HikariDataSource primary,
+                            ReadReplicaProperties properties,
+                            DataSourceProperties dataSourceProperties,
+                            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = properties.getMaxLag().toMillis() / 1000.0;
+
+        primary.setPoolName(PRIMARY);
+        primary.setMetricRegistry(meterRegistry);
+
+        for (ReadReplicaProperties.Replica config : properties.getReplicas()) {
+            if (config.getName() == null || PRIMARY.equals(config.getName())) {
+                throw new IllegalArgumentException("Each read replica needs a name other than '" + PRIMARY + "'");
+            }
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(config.getName());
+            pool.setJdbcUrl(config.getUrl());
+            pool.setUsername(config.getUsername() != null ? config.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(config.getPassword() != null ? config.getPassword() : dataSourceProperties.determinePassword());
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setMaximumPoolSize(config.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(meterRegistry);
+            // Do not fail startup on an unreachable replica; reads go to the primary until it is up
+            pool.setInitializationFailTimeout(-1);
+
+            Replica replica = new Replica(config.getName(), pool);
+            replicas.add(replica);
+
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag of the read replica behind the primary")
+                    .baseUnit("seconds")
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether read-only transactions are routed to the replica")
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+        }
+
+        logger.info("Routing read-only transactions to {} replica(s) within {} of the primary",
+                replicas.size(), properties.getMaxLag());
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public Map<Object, Object> targetDataSources() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        return targets;
+    }
+
+    /**
+     * The next available replica in round-robin order, or empty when every replica is down or
+     * lagging and reads should go to the primary.
+     */
+    public Optional<String> nextAvailableReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return Optional.empty();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return Optional.of(replica.name);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.check-interval:2000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try {
+                Map<String, Object> row = replica.jdbcTemplate.queryForMap(LAG_QUERY);
+                boolean inRecovery = Boolean.TRUE.equals(row.get("in_recovery"));
+                replica.lagSeconds = ((Number) row.get("lag_seconds")).doubleValue();
+                // A promoted replica no longer follows this primary, however fresh it looks
+                available = inRecovery && replica.lagSeconds <= maxLagSeconds;
+            } catch (Exception e) {
+                logger.debug("Lag check failed for read replica {}", replica.name, e);
+                available = false;
+            }
+
+            if (available != replica.available) {
+                if (available) {
+                    logger.info("Read replica {} is available ({}s behind)", replica.name, replica.lagSeconds);
+                } else {
+                    logger.warn("Read replica {} is unavailable ({}s behind), reading from the primary", replica.name, replica.lagSeconds);
+                }
+            }
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private static class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile boolean available;
+        private volatile double lagSeconds;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.orderservice.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends connections for read-only transactions to an available replica and everything else to
+ * the primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager opens its connection before the transaction is marked read-only, and
+ * the proxy defers the lookup until the first statement.
+ * <p>
+ * Each routing decision counts towards {@code datasource.routing}, tagged with the pool and
+ * the reason: {@code read-write}, {@code read-only} or {@code fallback} (no replica available).
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadReplicaPools pools;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> decisions = new ConcurrentHashMap<>();
+
+    public ReadReplicaRoutingDataSource(ReadReplicaPools pools, MeterRegistry meterRegistry) {
+        this.pools = pools;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSources(pools.targetDataSources());
+        setDefaultTargetDataSource(pools.getPrimary());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return route(ReadReplicaPools.PRIMARY, "read-write");
+        }
+        return pools.nextAvailableReplica()
+                .map(replica -> route(replica, "read-only"))
+                .orElseGet(() -> route(ReadReplicaPools.PRIMARY, "fallback"));
+    }
+
+    private String route(String pool, String reason) {
+        decisions.computeIfAbsent(pool + '|' + reason, key -> Counter.builder("datasource.routing")
+                        .description("Connections handed out per pool and routing reason")
+                        .tag("pool", pool)
+                        .tag("reason", reason)
+                        .register(meterRegistry))
+                .increment();
+        return pool;
+    }
+}
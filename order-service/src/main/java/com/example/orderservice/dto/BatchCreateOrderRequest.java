@@ -0,0 +1,42 @@
+package com.example.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchCreateOrderRequest {
+
+    public static final int MAX_ORDERS = 1000;
+
+    @NotEmpty(message = "Orders list cannot be empty")
+    @Size(max = MAX_ORDERS, message = "At most " + MAX_ORDERS + " orders per batch")
+    @Valid
+    @JsonProperty("orders")
+    private List<CreateOrderRequest> orders;
+
+    // Constructors
+    public BatchCreateOrderRequest() {}
+
+    public BatchCreateOrderRequest(List<CreateOrderRequest> orders) {
+        this.orders = orders;
+    }
+
+    // Getters and Setters
+    public List<CreateOrderRequest> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<CreateOrderRequest> orders) {
+        this.orders = orders;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchCreateOrderRequest{" +
+                "orders=" + (orders != null ? orders.size() : 0) +
+                '}';
+    }
+}
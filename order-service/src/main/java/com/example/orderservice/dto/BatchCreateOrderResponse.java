@@ -0,0 +1,59 @@
+package com.example.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class BatchCreateOrderResponse {
+
+    @JsonProperty("created")
+    private int created;
+
+    @JsonProperty("failed")
+    private int failed;
+
+    @JsonProperty("results")
+    private List<BatchOrderResult> results;
+
+    // Constructors
+    public BatchCreateOrderResponse() {}
+
+    public BatchCreateOrderResponse(List<BatchOrderResult> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(BatchOrderResult::isCreated).count();
+        this.failed = results.size() - created;
+    }
+
+    // Getters and Setters
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchOrderResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchOrderResult> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchCreateOrderResponse{" +
+                "created=" + created +
+                ", failed=" + failed +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of one order in a batch, identified by its position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOrderResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    @JsonProperty("index")
+    private int index;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("order")
+    private OrderResponse order;
+
+    @JsonProperty("error")
+    private String error;
+
+    // What the order failed with, for in-process callers; only the message is serialized
+    @JsonIgnore
+    private Exception cause;
+
+    // Constructors
+    public BatchOrderResult() {}
+
+    public BatchOrderResult(int index, String status, OrderResponse order, String error) {
+        this.index = index;
+        this.status = status;
+        this.order = order;
+        this.error = error;
+    }
+
+    public static BatchOrderResult created(int index, OrderResponse order) {
+        return new BatchOrderResult(index, CREATED, order, null);
+    }
+
+    public static BatchOrderResult failed(int index, String error) {
+        return new BatchOrderResult(index, FAILED, null, error);
+    }
+
+    public static BatchOrderResult failed(int index, Exception cause) {
+        BatchOrderResult result = failed(index, cause.getMessage());
+        result.cause = cause;
+        return result;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public OrderResponse getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderResponse order) {
+        this.order = order;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @JsonIgnore
+    public Exception getCause() {
+        return cause;
+    }
+
+    @JsonIgnore
+    public boolean isCreated() {
+        return CREATED.equals(status);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOrderResult{" +
+                "index=" + index +
+                ", status='" + status + '\'' +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class OrderPageResponse {
+
+    @JsonProperty("orders")
+    private List<OrderResponse> orders;
+
+    // Opaque; pass it back as ?cursor= for the next page, null on the last page
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    // Constructors
+    public OrderPageResponse() {}
+
+    public OrderPageResponse(List<OrderResponse> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<OrderResponse> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderResponse> orders) {
+        this.orders = orders;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderPageResponse{" +
+                "orders=" + (orders != null ? orders.size() : 0) +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.Instant;
+
+public class OutboxReplayRequest {
+
+    @NotNull(message = "Start of the time range is required")
+    @JsonProperty("from")
+    private Instant from;
+
+    @NotNull(message = "End of the time range is required")
+    @JsonProperty("to")
+    private Instant to;
+
+    @JsonProperty("aggregateId")
+    private String aggregateId;
+
+    @JsonProperty("eventType")
+    private String eventType;
+
+    @Positive(message = "Rate must be positive")
+    @JsonProperty("eventsPerSecond")
+    private Integer eventsPerSecond;
+
+    // Constructors
+    public OutboxReplayRequest() {}
+
+    public OutboxReplayRequest(Instant from, Instant to, String aggregateId, String eventType, Integer eventsPerSecond) {
+        this.from = from;
+        this.to = to;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    // Getters and Setters
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Integer getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    public void setEventsPerSecond(Integer eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxReplayRequest{" +
+                "from=" + from +
+                ", to=" + to +
+                ", aggregateId='" + aggregateId + '\'' +
+                ", eventType='" + eventType + '\'' +
+                ", eventsPerSecond=" + eventsPerSecond +
+                '}';
+    }
+}
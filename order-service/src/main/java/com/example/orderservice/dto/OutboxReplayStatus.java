@@ -0,0 +1,162 @@
+package com.example.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class OutboxReplayStatus {
+
+    @JsonProperty("jobId")
+    private UUID jobId;
+
+    @JsonProperty("state")
+    private String state;
+
+    @JsonProperty("request")
+    private OutboxReplayRequest request;
+
+    @JsonProperty("eventsPerSecondCap")
+    private int eventsPerSecondCap;
+
+    @JsonProperty("read")
+    private long read;
+
+    @JsonProperty("published")
+    private long published;
+
+    @JsonProperty("failed")
+    private long failed;
+
+    @JsonProperty("throughput")
+    private double throughput;
+
+    @JsonProperty("lastEventCreatedAt")
+    private Instant lastEventCreatedAt;
+
+    @JsonProperty("startedAt")
+    private Instant startedAt;
+
+    @JsonProperty("finishedAt")
+    private Instant finishedAt;
+
+    @JsonProperty("error")
+    private String error;
+
+    // Constructors
+    public OutboxReplayStatus() {}
+
+    public OutboxReplayStatus(UUID jobId, String state, OutboxReplayRequest request, int eventsPerSecondCap,
+                              long read, long published, long failed, double throughput,
+                              Instant lastEventCreatedAt, Instant startedAt, Instant finishedAt, String error) {
+        this.jobId = jobId;
+        this.state = state;
+        this.request = request;
+        this.eventsPerSecondCap = eventsPerSecondCap;
+        this.read = read;
+        this.published = published;
+        this.failed = failed;
+        this.throughput = throughput;
+        this.lastEventCreatedAt = lastEventCreatedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public OutboxReplayRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(OutboxReplayRequest request) {
+        this.request = request;
+    }
+
+    public int getEventsPerSecondCap() {
+        return eventsPerSecondCap;
+    }
+
+    public void setEventsPerSecondCap(int eventsPerSecondCap) {
+        this.eventsPerSecondCap = eventsPerSecondCap;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public void setRead(long read) {
+        this.read = read;
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    public void setPublished(long published) {
+        this.published = published;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    public Instant getLastEventCreatedAt() {
+        return lastEventCreatedAt;
+    }
+
+    public void setLastEventCreatedAt(Instant lastEventCreatedAt) {
+        this.lastEventCreatedAt = lastEventCreatedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
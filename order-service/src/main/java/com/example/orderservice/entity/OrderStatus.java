@@ -1,10 +1,73 @@
 package com.example.orderservice.entity;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     NEW,
     PAID,
     RESERVED,
     SHIPPED,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    // Payment and stock reservation may complete in either order, but whichever lands first is
+    // kept: PAID and RESERVED are siblings, never each other's predecessor, so the table stays
+    // acyclic and no transition moves an order sideways. COMPLETED and CANCELLED are final.
+    private static final Map<OrderStatus, Set<OrderStatus>> PREDECESSORS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> ANCESTORS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        PREDECESSORS.put(NEW, EnumSet.noneOf(OrderStatus.class));
+        PREDECESSORS.put(PAID, EnumSet.of(NEW));
+        PREDECESSORS.put(RESERVED, EnumSet.of(NEW));
+        PREDECESSORS.put(SHIPPED, EnumSet.of(PAID, RESERVED));
+        PREDECESSORS.put(COMPLETED, EnumSet.of(SHIPPED));
+        PREDECESSORS.put(CANCELLED, EnumSet.of(NEW, PAID, RESERVED));
+
+        for (OrderStatus status : values()) {
+            Set<OrderStatus> ancestors = EnumSet.noneOf(OrderStatus.class);
+            Deque<OrderStatus> pending = new ArrayDeque<>(PREDECESSORS.get(status));
+            while (!pending.isEmpty()) {
+                OrderStatus ancestor = pending.pop();
+                if (ancestor == status) {
+                    throw new IllegalStateException("Order status transitions must be acyclic, " + status + " reaches itself");
+                }
+                if (ancestors.add(ancestor)) {
+                    pending.addAll(PREDECESSORS.get(ancestor));
+                }
+            }
+            ANCESTORS.put(status, ancestors);
+        }
+    }
+
+    /**
+     * The statuses an order may move to this one from.
+     */
+    public Set<OrderStatus> predecessors() {
+        return PREDECESSORS.get(this);
+    }
+
+    public boolean canTransitionFrom(OrderStatus current) {
+        return predecessors().contains(current);
+    }
+
+    /**
+     * The statuses this one can be reached from in one or more transitions. Moving from any of
+     * them to this status only ever moves an order forward.
+     */
+    public Set<OrderStatus> ancestors() {
+        return ANCESTORS.get(this);
+    }
+
+    /**
+     * Whether no status may follow this one.
+     */
+    public boolean isFinal() {
+        return PREDECESSORS.values().stream().noneMatch(predecessors -> predecessors.contains(this));
+    }
 }
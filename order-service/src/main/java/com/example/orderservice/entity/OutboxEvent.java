@@ -11,7 +11,7 @@ import java.util.UUID;
 public class OutboxEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "aggregate_type", nullable = false)
@@ -23,9 +23,13 @@ public class OutboxEvent {
     @Column(name = "event_type", nullable = false)
     private String eventType;
 
-    @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
+    @Column(name = "payload", columnDefinition = "jsonb")
     private String payload;
 
+    // Pre-serialized Avro record (Confluent wire format); set instead of payload in avro mode
+    @Column(name = "payload_avro")
+    private byte[] payloadAvro;
+
     @Column(name = "headers", columnDefinition = "jsonb")
     private String headers;
 
@@ -36,6 +40,20 @@ public class OutboxEvent {
     @Column(name = "processed_at")
     private Instant processedAt;
 
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    // Not retried before this time after a failed attempt
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    // Generated by the database from aggregate_id
+    @Column(name = "shard", insertable = false, updatable = false)
+    private Short shard;
+
     // Constructors
     public OutboxEvent() {}
 
@@ -88,6 +106,14 @@ public class OutboxEvent {
         this.payload = payload;
     }
 
+    public byte[] getPayloadAvro() {
+        return payloadAvro;
+    }
+
+    public void setPayloadAvro(byte[] payloadAvro) {
+        this.payloadAvro = payloadAvro;
+    }
+
     public String getHeaders() {
         return headers;
     }
@@ -112,6 +138,34 @@ public class OutboxEvent {
         this.processedAt = processedAt;
     }
 
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(int attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Short getShard() {
+        return shard;
+    }
+
     public boolean isProcessed() {
         return processedAt != null;
     }
@@ -129,6 +183,7 @@ public class OutboxEvent {
                 ", eventType='" + eventType + '\'' +
                 ", createdAt=" + createdAt +
                 ", processedAt=" + processedAt +
+                ", attemptCount=" + attemptCount +
                 '}';
     }
 }
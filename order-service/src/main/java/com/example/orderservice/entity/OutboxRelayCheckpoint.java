@@ -0,0 +1,63 @@
+package com.example.orderservice.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_relay_checkpoints")
+public class OutboxRelayCheckpoint {
+
+    @Id
+    @Column(name = "slot_name", nullable = false)
+    private String slotName;
+
+    @Column(name = "lsn", nullable = false)
+    private String lsn;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Constructors
+    public OutboxRelayCheckpoint() {}
+
+    public OutboxRelayCheckpoint(String slotName, String lsn) {
+        this.slotName = slotName;
+        this.lsn = lsn;
+        this.updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public String getSlotName() {
+        return slotName;
+    }
+
+    public void setSlotName(String slotName) {
+        this.slotName = slotName;
+    }
+
+    public String getLsn() {
+        return lsn;
+    }
+
+    public void setLsn(String lsn) {
+        this.lsn = lsn;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxRelayCheckpoint{" +
+                "slotName='" + slotName + '\'' +
+                ", lsn='" + lsn + '\'' +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
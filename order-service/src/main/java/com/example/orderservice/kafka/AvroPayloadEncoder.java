@@ -0,0 +1,64 @@
+package com.example.orderservice.kafka;
+
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Encodes Avro records into the exact bytes the producer would send, using the producer's
+ * schema registry settings. Used to store outbox payloads pre-serialized.
+ * <p>
+ * Schema ids are cached by the registry client after the first lookup; {@link #resolveSchema}
+ * does that lookup up front so encoding inside a write transaction never waits on the registry.
+ */
+@Component
+public class AvroPayloadEncoder {
+
+    private final SchemaResolvingSerializer serializer;
+
+    @Autowired
+    public AvroPayloadEncoder(KafkaProperties kafkaProperties) {
+        this(kafkaProperties.buildProducerProperties(null));
+    }
+
+    AvroPayloadEncoder(Map<String, ?> producerProperties) {
+        this.serializer = new SchemaResolvingSerializer();
+        this.serializer.configure(producerProperties, false);
+    }
+
+    /**
+     * @param topic the topic the record will be published to; it determines the schema subject
+     */
+    public byte[] encode(String topic, SpecificRecord record) {
+        return serializer.serialize(topic, record);
+    }
+
+    /**
+     * Registers the schema, or looks up its id when auto-registration is off, the same way
+     * {@link #encode} would on first use, leaving the id in the registry client's cache.
+     *
+     * @return the schema id
+     */
+    public int resolveSchema(String topic, Schema schema) throws IOException, RestClientException {
+        return serializer.resolveSchema(topic, schema);
+    }
+
+    private static class SchemaResolvingSerializer extends KafkaAvroSerializer {
+
+        private int resolveSchema(String topic, Schema schema) throws IOException, RestClientException {
+            AvroSchema avroSchema = new AvroSchema(schema);
+            String subject = getSubjectName(topic, false, null, avroSchema);
+            return autoRegisterSchema
+                    ? schemaRegistry.register(subject, avroSchema, normalizeSchema)
+                    : schemaRegistry.getId(subject, avroSchema, normalizeSchema);
+        }
+    }
+}
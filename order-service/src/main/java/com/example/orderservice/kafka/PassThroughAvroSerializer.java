@@ -0,0 +1,28 @@
+package com.example.orderservice.kafka;
+
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Avro serializer that forwards values which are already encoded in the Confluent wire
+ * format. Outbox rows stored as {@code payload_avro} were serialized once when the event was
+ * written; everything else is serialized as usual.
+ */
+public class PassThroughAvroSerializer extends KafkaAvroSerializer {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data instanceof byte[] encoded) {
+            return encoded;
+        }
+        return super.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data instanceof byte[] encoded) {
+            return encoded;
+        }
+        return super.serialize(topic, headers, data);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.orderservice.listener;
+
+import com.example.events.OrderRequest;
+import com.example.orderservice.service.OrderIngestService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch listener on the order ingest topic. Throughput is set by how fast polls are written, so a
+ * busy database slows consumption instead of piling up requests in memory.
+ */
+@Component
+public class OrderRequestListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderRequestListener.class);
+
+    private final OrderIngestService orderIngestService;
+
+    @Autowired
+    public OrderRequestListener(OrderIngestService orderIngestService) {
+        this.orderIngestService = orderIngestService;
+    }
+
+    @KafkaListener(
+            topics = "${app.orders.ingest.topic:order.requests}",
+            containerFactory = "orderRequestListenerContainerFactory",
+            autoStartup = "${app.orders.ingest.enabled:true}")
+    public void handleOrderRequests(List<ConsumerRecord<String, Object>> records) {
+        List<OrderRequest> requests = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof OrderRequest request) {
+                requests.add(request);
+            } else {
+                logger.warn("Skipping undeserializable order request {} on {}-{} at offset {}",
+                        record.key(), record.topic(), record.partition(), record.offset());
+            }
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        try {
+            orderIngestService.ingest(requests);
+        } catch (Exception e) {
+            logger.error("Failed to ingest {} order requests: {}", requests.size(), e.getMessage(), e);
+            throw e; // Re-throw so the whole batch is redelivered
+        }
+    }
+}
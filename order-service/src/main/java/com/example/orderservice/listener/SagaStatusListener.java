@@ -0,0 +1,96 @@
+package com.example.orderservice.listener;
+
+import com.example.events.InventoryRejected;
+import com.example.events.InventoryReserved;
+import com.example.events.PaymentAuthorized;
+import com.example.events.PaymentFailed;
+import com.example.events.ShippingScheduled;
+import com.example.orderservice.entity.OrderStatus;
+import com.example.orderservice.service.OrderService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code orders.status} in step with the saga running in the other services. Each poll of
+ * the reply topics is folded into one status per order and applied as a single batched UPDATE,
+ * so the database sees one statement per poll however many events it holds.
+ */
+@Component
+public class SagaStatusListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaStatusListener.class);
+
+    private final OrderService orderService;
+
+    @Autowired
+    public SagaStatusListener(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @KafkaListener(
+            topics = {"payment.authorized", "payment.failed", "inventory.reserved", "inventory.rejected", "shipping.scheduled"},
+            containerFactory = "sagaReplyListenerContainerFactory",
+            autoStartup = "${app.orders.saga-sync.enabled:true}")
+    public void handleSagaReplies(List<ConsumerRecord<String, Object>> records) {
+        Map<String, OrderStatus> statuses = foldStatuses(records);
+        if (statuses.isEmpty()) {
+            return;
+        }
+
+        try {
+            int updated = orderService.applySagaStatuses(statuses);
+            logger.info("Applied saga replies: {} records, {} orders, {} updated", records.size(), statuses.size(), updated);
+        } catch (Exception e) {
+            logger.error("Failed to apply saga replies for {} orders: {}", statuses.size(), e.getMessage(), e);
+            throw e; // Re-throw so the whole batch is redelivered
+        }
+    }
+
+    /**
+     * Reduces a poll to one status per order. A later record replaces the folded status only when
+     * the folded status is one of its ancestors, exactly as the guarded UPDATE would apply them one
+     * by one: late replies (e.g. {@code inventory.reserved} after {@code shipping.scheduled}),
+     * duplicates and sideways moves between the PAID and RESERVED siblings are all dropped.
+     */
+    static Map<String, OrderStatus> foldStatuses(List<ConsumerRecord<String, Object>> records) {
+        Map<String, OrderStatus> statuses = new LinkedHashMap<>();
+        for (ConsumerRecord<String, Object> record : records) {
+            SagaReply reply = toReply(record);
+            if (reply == null) {
+                continue;
+            }
+            statuses.merge(reply.orderId(), reply.status(),
+                    (folded, next) -> next.ancestors().contains(folded) ? next : folded);
+        }
+        return statuses;
+    }
+
+    private static SagaReply toReply(ConsumerRecord<String, Object> record) {
+        return switch (record.value()) {
+            case PaymentAuthorized event -> new SagaReply(event.getOrderId(), OrderStatus.PAID);
+            case PaymentFailed event -> new SagaReply(event.getOrderId(), OrderStatus.CANCELLED);
+            case InventoryReserved event -> new SagaReply(event.getOrderId(), OrderStatus.RESERVED);
+            case InventoryRejected event -> new SagaReply(event.getOrderId(), OrderStatus.CANCELLED);
+            case ShippingScheduled event -> new SagaReply(event.getOrderId(), OrderStatus.SHIPPED);
+            case null -> {
+                logger.warn("Skipping undeserializable record on {}-{} at offset {}",
+                        record.topic(), record.partition(), record.offset());
+                yield null;
+            }
+            default -> {
+                logger.warn("Skipping unexpected {} on {}", record.value().getClass().getSimpleName(), record.topic());
+                yield null;
+            }
+        };
+    }
+
+    private record SagaReply(String orderId, OrderStatus status) {}
+}
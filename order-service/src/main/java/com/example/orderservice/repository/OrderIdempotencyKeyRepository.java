@@ -0,0 +1,30 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, String> {
+
+    /**
+     * Records the key unless it already exists. A concurrent insert of the same key blocks on the
+     * primary key until the other transaction ends, so this returns 0 only for a committed key.
+     *
+     * @return 1 if the key was claimed, 0 if another request holds it
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_idempotency_keys (idempotency_key, request_hash, order_id) " +
+                   "VALUES (:key, :requestHash, :orderId) ON CONFLICT (idempotency_key) DO NOTHING",
+           nativeQuery = true)
+    int claim(@Param("key") String key, @Param("requestHash") String requestHash, @Param("orderId") String orderId);
+
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
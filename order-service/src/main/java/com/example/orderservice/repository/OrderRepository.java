@@ -7,17 +7,35 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderRepositoryCustom {
 
     Optional<Order> findByOrderId(String orderId);
 
     List<Order> findByUserId(String userId);
 
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId " +
+           "ORDER BY o.createdAt DESC, o.id DESC LIMIT :limit")
+    List<Order> findFirstPageByUserId(@Param("userId") String userId, @Param("limit") int limit);
+
+    /**
+     * The page after the cursor, which is the {@code (createdAt, id)} of the last order of the
+     * previous page. The row-value comparison keeps this a single scan of
+     * {@code idx_orders_user_created_id}, however deep the page.
+     */
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId " +
+           "AND (o.createdAt, o.id) < (:createdAt, :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC LIMIT :limit")
+    List<Order> findPageByUserIdAfter(@Param("userId") String userId,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") UUID id,
+                                      @Param("limit") int limit);
+
     List<Order> findByStatus(OrderStatus status);
 
     @Query("SELECT o FROM Order o WHERE o.userId = :userId AND o.status = :status")
@@ -0,0 +1,54 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.entity.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Order writes that are issued as plain SQL rather than through the persistence context, and
+ * access to {@code orders_archive}, which has no entity.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Moves the order to {@code target} with a single guarded {@code UPDATE ... RETURNING}, if its
+     * current status is one of {@code target}'s predecessors and nobody changes it concurrently.
+     * No lock is taken up front: a concurrent transition makes the guard fail instead of waiting
+     * its turn and then overwriting.
+     *
+     * @return the updated order and the status it had, or empty if the order does not exist or
+     * the transition was illegal or lost a race
+     */
+    Optional<StatusTransition> transitionStatus(String orderId, OrderStatus target);
+
+    /**
+     * Moves each order to its given status with one {@code UPDATE ... FROM unnest(...)}, skipping
+     * orders whose current status is not one of the target's {@link OrderStatus#ancestors()}, so
+     * late or replayed events never move an order backwards or out of a final status.
+     *
+     * @return the IDs of the orders that were updated
+     */
+    List<String> advanceStatuses(Map<String, OrderStatus> statuses);
+
+    /**
+     * Moves up to {@code limit} orders in a final status created before {@code createdBefore},
+     * oldest first, from {@code orders} to {@code orders_archive} in one {@code DELETE ... RETURNING}
+     * statement. Rows locked by a concurrent archiver are skipped.
+     *
+     * @return the number of orders moved
+     */
+    int archiveFinalOrders(Instant createdBefore, int limit);
+
+    /**
+     * Creation time of the oldest order {@link #archiveFinalOrders} would move, if there is one.
+     */
+    Optional<Instant> findOldestArchivable(Instant createdBefore);
+
+    Optional<Order> findArchivedByOrderId(String orderId);
+
+    record StatusTransition(Order order, OrderStatus previousStatus) {}
+}
@@ -0,0 +1,160 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.entity.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    // previous reads the status once; the UPDATE only applies if the row still has that status,
+    // which Postgres re-checks against the latest row version when a concurrent update got there first
+    private static final String TRANSITION_STATUS = """
+            WITH previous AS (
+                SELECT id, status FROM orders WHERE order_id = ?
+            )
+            UPDATE orders o
+            SET status = ?
+            FROM previous
+            WHERE o.id = previous.id
+              AND o.status = previous.status
+              AND previous.status = ANY(?)
+            RETURNING o.id, o.order_id, o.user_id, o.total, o.items, o.status, o.created_at, o.updated_at,
+                      previous.status AS previous_status
+            """;
+
+    private static final String ADVANCE_STATUSES = """
+            UPDATE orders o
+            SET status = u.status
+            FROM unnest(?, ?, ?) AS u(order_id, status, from_statuses)
+            WHERE o.order_id = u.order_id
+              AND o.status = ANY(string_to_array(u.from_statuses, ','))
+            RETURNING o.order_id
+            """;
+
+    private static final String ARCHIVE_FINAL_ORDERS = """
+            WITH moved AS (
+                DELETE FROM orders
+                WHERE id IN (
+                    SELECT id FROM orders
+                    WHERE status = ANY(?) AND created_at < ?
+                    ORDER BY created_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, order_id, user_id, total, items, status, created_at, updated_at
+            )
+            INSERT INTO orders_archive (id, order_id, user_id, total, items, status, created_at, updated_at)
+            SELECT id, order_id, user_id, total, items, status, created_at, updated_at FROM moved
+            """;
+
+    private static final String ORDER_COLUMNS = "id, order_id, user_id, total, items, status, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public Optional<StatusTransition> transitionStatus(String orderId, OrderStatus target) {
+        String[] predecessors = target.predecessors().stream().map(OrderStatus::name).toArray(String[]::new);
+
+        List<StatusTransition> transitions = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(TRANSITION_STATUS);
+            statement.setString(1, orderId);
+            statement.setString(2, target.name());
+            statement.setArray(3, connection.createArrayOf("varchar", predecessors));
+            return statement;
+        }, (rs, rowNum) -> new StatusTransition(mapOrder(rs), OrderStatus.valueOf(rs.getString("previous_status"))));
+
+        return transitions.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public List<String> advanceStatuses(Map<String, OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> orderIds = new ArrayList<>(statuses.size());
+        List<String> targets = new ArrayList<>(statuses.size());
+        List<String> fromStatuses = new ArrayList<>(statuses.size());
+        statuses.forEach((orderId, status) -> {
+            orderIds.add(orderId);
+            targets.add(status.name());
+            fromStatuses.add(status.ancestors().stream().map(OrderStatus::name).collect(Collectors.joining(",")));
+        });
+
+        // One statement and one plan however many orders the batch holds
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ADVANCE_STATUSES);
+            statement.setArray(1, connection.createArrayOf("varchar", orderIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", targets.toArray()));
+            statement.setArray(3, connection.createArrayOf("varchar", fromStatuses.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getString("order_id"));
+    }
+
+    @Override
+    @Transactional
+    public int archiveFinalOrders(Instant createdBefore, int limit) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ARCHIVE_FINAL_ORDERS);
+            statement.setArray(1, connection.createArrayOf("varchar", finalStatuses()));
+            statement.setTimestamp(2, Timestamp.from(createdBefore));
+            statement.setInt(3, limit);
+            return statement;
+        });
+    }
+
+    @Override
+    public Optional<Instant> findOldestArchivable(Instant createdBefore) {
+        Timestamp oldest = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT MIN(created_at) FROM orders WHERE status = ANY(?) AND created_at < ?");
+            statement.setArray(1, connection.createArrayOf("varchar", finalStatuses()));
+            statement.setTimestamp(2, Timestamp.from(createdBefore));
+            return statement;
+        }, rs -> rs.next() ? rs.getTimestamp(1) : null);
+        return Optional.ofNullable(oldest).map(Timestamp::toInstant);
+    }
+
+    @Override
+    public Optional<Order> findArchivedByOrderId(String orderId) {
+        return jdbcTemplate.query("SELECT " + ORDER_COLUMNS + " FROM orders_archive WHERE order_id = ?",
+                (rs, rowNum) -> mapOrder(rs), orderId).stream().findFirst();
+    }
+
+    private static String[] finalStatuses() {
+        return Arrays.stream(OrderStatus.values()).filter(OrderStatus::isFinal).map(OrderStatus::name).toArray(String[]::new);
+    }
+
+    private static Order mapOrder(ResultSet rs) throws SQLException {
+        Order order = new Order(
+                rs.getString("order_id"),
+                rs.getString("user_id"),
+                rs.getBigDecimal("total"),
+                rs.getString("items"),
+                OrderStatus.valueOf(rs.getString("status")));
+        order.setId(rs.getObject("id", UUID.class));
+        order.setCreatedAt(rs.getTimestamp("created_at").toInstant());
+        order.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
+        return order;
+    }
+}
@@ -7,11 +7,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID>, OutboxEventRepositoryCustom {
 
     @Query("SELECT o FROM OutboxEvent o WHERE o.processedAt IS NULL ORDER BY o.createdAt ASC")
     List<OutboxEvent> findUnprocessedEvents();
@@ -19,11 +20,35 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID>
     @Query("SELECT o FROM OutboxEvent o WHERE o.processedAt IS NULL ORDER BY o.createdAt ASC LIMIT :limit")
     List<OutboxEvent> findUnprocessedEventsWithLimit(@Param("limit") int limit);
 
+    @Query("SELECT o FROM OutboxEvent o WHERE o.processedAt IS NULL AND o.nextAttemptAt IS NULL " +
+           "ORDER BY o.createdAt ASC LIMIT :limit")
+    List<OutboxEvent> findUnattemptedEventsWithLimit(@Param("limit") int limit);
+
+    /**
+     * Unprocessed events of the given shards that are due: events still backing off after a
+     * failure are skipped, and so is every later event of the same aggregate, so per-aggregate
+     * order holds while all other aggregates keep flowing.
+     *
+     * @param retriesOnly only return events that have failed or been deferred before
+     */
+    @Query("SELECT o FROM OutboxEvent o WHERE o.processedAt IS NULL AND o.shard IN :shards " +
+           "AND o.createdAt < :createdBefore " +
+           "AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now) " +
+           "AND (:retriesOnly = false OR o.nextAttemptAt IS NOT NULL) " +
+           "AND NOT EXISTS (SELECT p FROM OutboxEvent p WHERE p.aggregateId = o.aggregateId " +
+           "AND p.processedAt IS NULL AND p.nextAttemptAt > :now AND p.createdAt < o.createdAt) " +
+           "ORDER BY o.createdAt ASC LIMIT :limit")
+    List<OutboxEvent> findDueEventsInShards(@Param("shards") Collection<Short> shards,
+                                            @Param("createdBefore") Instant createdBefore,
+                                            @Param("now") Instant now,
+                                            @Param("retriesOnly") boolean retriesOnly,
+                                            @Param("limit") int limit);
+
     List<OutboxEvent> findByAggregateTypeAndAggregateId(String aggregateType, String aggregateId);
 
     @Query("SELECT COUNT(o) FROM OutboxEvent o WHERE o.processedAt IS NULL")
     long countUnprocessedEvents();
 
-    @Query("SELECT o FROM OutboxEvent o WHERE o.processedAt IS NOT NULL AND o.processedAt < :before")
-    List<OutboxEvent> findProcessedEventsBefore(@Param("before") Instant before);
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEvent o WHERE o.processedAt IS NULL")
+    Instant findOldestUnprocessedCreatedAt();
 }
@@ -0,0 +1,69 @@
+package com.example.orderservice.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk outbox operations that are issued as plain SQL rather than through the persistence context.
+ */
+public interface OutboxEventRepositoryCustom {
+
+    /**
+     * Marks all given events processed with a single {@code UPDATE ... WHERE id = ANY(?)}.
+     */
+    int markProcessed(Collection<UUID> ids, Instant processedAt);
+
+    /**
+     * Deletes all given events with a single {@code DELETE ... WHERE id = ANY(?)}.
+     */
+    int deleteEvents(Collection<UUID> ids);
+
+    /**
+     * Moves all given events into {@code outbox_events_archive} with a single
+     * {@code DELETE ... RETURNING} feeding an {@code INSERT}.
+     */
+    int archiveEvents(Collection<UUID> ids, Instant processedAt);
+
+    /**
+     * Locks up to {@code maxShards} of the least recently relayed shards that no other relay
+     * currently holds ({@code FOR UPDATE SKIP LOCKED}). The locks last until the calling
+     * transaction ends.
+     */
+    List<Short> claimShards(int maxShards);
+
+    int countShards();
+
+    /**
+     * Counts one more failed attempt and pushes the event's next attempt back exponentially:
+     * {@code initialBackoffMs * 2^(attempts - 1)}, capped at {@code maxBackoffMs}.
+     *
+     * @return the attempt count after this failure
+     */
+    int recordFailure(UUID id, String error, long initialBackoffMs, long maxBackoffMs);
+
+    /**
+     * Moves the event into {@code outbox_dead_letters} in a single statement.
+     */
+    boolean quarantine(UUID id);
+
+    /**
+     * Marks events that were held back behind a failed event of their aggregate, so the
+     * polling relay retries them once that event has gone out. Does not count as an attempt.
+     */
+    int defer(Collection<UUID> ids);
+
+    /**
+     * Of the given aggregates, those with an unprocessed event that failed or was deferred and
+     * has not gone out yet; newer events of these aggregates must wait for the retry.
+     */
+    Set<String> findAggregatesWithPendingRetries(Collection<String> aggregateIds);
+
+    /**
+     * Of the given events, those still in the outbox that have been neither processed nor
+     * attempted; events completed, deleted or retried by another relay in the meantime drop out.
+     */
+    Set<UUID> findUnattemptedIds(Collection<UUID> ids);
+}
@@ -0,0 +1,177 @@
+package com.example.orderservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OutboxEventRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public int markProcessed(Collection<UUID> ids, Instant processedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // One statement and one plan regardless of batch size, unlike an expanded IN list
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE outbox_events SET processed_at = ? WHERE id = ANY(?)");
+            statement.setTimestamp(1, Timestamp.from(processedAt));
+            statement.setArray(2, connection.createArrayOf("uuid", ids.toArray()));
+            return statement;
+        });
+    }
+
+    @Override
+    @Transactional
+    public int deleteEvents(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM outbox_events WHERE id = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            return statement;
+        });
+    }
+
+    @Override
+    @Transactional
+    public int archiveEvents(Collection<UUID> ids, Instant processedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    WITH moved AS (
+                        DELETE FROM outbox_events WHERE id = ANY(?)
+                        RETURNING id, aggregate_type, aggregate_id, event_type, payload, payload_avro,
+                                  headers, created_at, attempt_count)
+                    INSERT INTO outbox_events_archive (id, aggregate_type, aggregate_id, event_type, payload,
+                                                       payload_avro, headers, created_at, processed_at, attempt_count)
+                    SELECT id, aggregate_type, aggregate_id, event_type, payload,
+                           payload_avro, headers, created_at, ?, attempt_count
+                    FROM moved
+                    """);
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            statement.setTimestamp(2, Timestamp.from(processedAt));
+            return statement;
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<Short> claimShards(int maxShards) {
+        return jdbcTemplate.queryForList("""
+                UPDATE outbox_relay_shards SET last_relayed_at = CURRENT_TIMESTAMP
+                WHERE shard IN (
+                    SELECT shard FROM outbox_relay_shards
+                    ORDER BY last_relayed_at ASC NULLS FIRST
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING shard
+                """, Short.class, maxShards);
+    }
+
+    @Override
+    public int countShards() {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_relay_shards", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    @Transactional
+    public int recordFailure(UUID id, String error, long initialBackoffMs, long maxBackoffMs) {
+        Integer attempts = jdbcTemplate.queryForObject("""
+                UPDATE outbox_events
+                SET attempt_count = attempt_count + 1,
+                    last_error = ?,
+                    next_attempt_at = CURRENT_TIMESTAMP
+                        + LEAST(? * power(2, attempt_count), ?) * INTERVAL '1 millisecond'
+                WHERE id = ?
+                RETURNING attempt_count
+                """, Integer.class, error, initialBackoffMs, maxBackoffMs, id);
+        return attempts != null ? attempts : 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean quarantine(UUID id) {
+        return jdbcTemplate.update("""
+                WITH moved AS (
+                    DELETE FROM outbox_events WHERE id = ?
+                    RETURNING id, aggregate_type, aggregate_id, event_type, payload, payload_avro,
+                              headers, created_at, attempt_count, last_error)
+                INSERT INTO outbox_dead_letters (id, aggregate_type, aggregate_id, event_type, payload,
+                                                 payload_avro, headers, created_at, attempt_count, last_error)
+                SELECT * FROM moved
+                """, id) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int defer(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE outbox_events SET next_attempt_at = CURRENT_TIMESTAMP "
+                            + "WHERE id = ANY(?) AND next_attempt_at IS NULL");
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            return statement;
+        });
+    }
+
+    @Override
+    public Set<String> findAggregatesWithPendingRetries(Collection<String> aggregateIds) {
+        if (aggregateIds.isEmpty()) {
+            return Set.of();
+        }
+
+        List<String> pending = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    SELECT DISTINCT aggregate_id FROM outbox_events
+                    WHERE aggregate_id = ANY(?) AND processed_at IS NULL
+                      AND next_attempt_at IS NOT NULL
+                    """);
+            statement.setArray(1, connection.createArrayOf("varchar", aggregateIds.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(pending);
+    }
+
+    @Override
+    public Set<UUID> findUnattemptedIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        List<UUID> unattempted = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id FROM outbox_events WHERE id = ANY(?) AND processed_at IS NULL AND next_attempt_at IS NULL");
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+        return new HashSet<>(unattempted);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.OutboxRelayCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxRelayCheckpointRepository extends JpaRepository<OutboxRelayCheckpoint, String> {
+}
@@ -0,0 +1,18 @@
+package com.example.orderservice.service;
+
+/**
+ * The Idempotency-Key was already used for a request with a different body.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyKeyConflictException(String idempotencyKey) {
+        super("Idempotency-Key " + idempotencyKey + " was already used with a different request");
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+/**
+ * Moves orders in a final status older than {@code min-age} from {@code orders} to the monthly
+ * partitions of {@code orders_archive}, so the hot table and its indexes stop growing with
+ * history. Each chunk of {@code chunk-size} orders is moved by one statement in its own
+ * transaction, with a pause between chunks, so a large backlog never holds long locks or
+ * produces one huge burst of WAL.
+ * <p>
+ * Archived orders stay readable through {@link OrderService#getOrder}.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private static final String ARCHIVE_TABLE = "orders_archive";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedOrders;
+
+    @Value("${app.orders.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.orders.archive.min-age:90d}")
+    private Duration minAge;
+
+    @Value("${app.orders.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.orders.archive.chunk-pause:100}")
+    private long chunkPauseMs;
+
+    @Value("${app.orders.archive.max-chunks-per-run:1000}")
+    private int maxChunksPerRun;
+
+    @Autowired
+    public OrderArchiveService(OrderRepository orderRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archivedOrders = Counter.builder("orders.archived")
+                .description("Orders moved from orders to orders_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.orders.archive.cron:0 0 3 * * ?}") // Daily at 3 AM
+    public void archiveOrders() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(minAge);
+        int total = 0;
+        try {
+            createPartitions(cutoff);
+
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                Integer moved = transactionTemplate.execute(status -> orderRepository.archiveFinalOrders(cutoff, chunkSize));
+                total += moved;
+                archivedOrders.increment(moved);
+                if (moved < chunkSize) {
+                    break;
+                }
+                Thread.sleep(chunkPauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Error archiving orders created before {}", cutoff, e);
+        }
+
+        if (total > 0) {
+            logger.info("Archived {} orders created before {}", total, cutoff);
+        }
+    }
+
+    private void createPartitions(Instant cutoff) {
+        Optional<Instant> oldest = orderRepository.findOldestArchivable(cutoff);
+        if (oldest.isEmpty()) {
+            return;
+        }
+
+        YearMonth last = YearMonth.from(cutoff.atZone(ZoneOffset.UTC));
+        for (YearMonth month = YearMonth.from(oldest.get().atZone(ZoneOffset.UTC)); !month.isAfter(last); month = month.plusMonths(1)) {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s_p%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    ARCHIVE_TABLE, month.format(PARTITION_SUFFIX), ARCHIVE_TABLE,
+                    month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                    month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+    }
+}
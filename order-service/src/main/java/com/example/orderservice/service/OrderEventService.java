@@ -2,16 +2,23 @@ package com.example.orderservice.service;
 
 import com.example.events.OrderCreated;
 import com.example.events.OrderItem;
+import com.example.events.OrderStatusChanged;
 import com.example.orderservice.dto.OrderItemDto;
 import com.example.orderservice.entity.Order;
 import com.example.orderservice.entity.OrderStatus;
 import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.kafka.AvroPayloadEncoder;
 import com.example.orderservice.repository.OutboxEventRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -23,14 +30,60 @@ import java.util.Map;
 public class OrderEventService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderEventService.class);
+    private static final String PAYLOAD_FORMAT_AVRO = "avro";
 
     private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
+    private final OutboxFastPath outboxFastPath;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final AvroPayloadEncoder avroPayloadEncoder;
+    private final OrderResponseCache orderResponseCache;
+
+    @Value("${app.outbox.payload-format:json}")
+    private String payloadFormat;
 
     @Autowired
-    public OrderEventService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+    public OrderEventService(OutboxEventRepository outboxEventRepository,
+                             ObjectMapper objectMapper,
+                             OutboxFastPath outboxFastPath,
+                             OutboxEventPublisher outboxEventPublisher,
+                             AvroPayloadEncoder avroPayloadEncoder,
+                             OrderResponseCache orderResponseCache) {
         this.outboxEventRepository = outboxEventRepository;
         this.objectMapper = objectMapper;
+        this.outboxFastPath = outboxFastPath;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.avroPayloadEncoder = avroPayloadEncoder;
+        this.orderResponseCache = orderResponseCache;
+    }
+
+    /**
+     * Resolves the Avro schemas of pre-serialized events before traffic arrives, so the first
+     * write of each type does not call the schema registry while holding its row locks. If the
+     * registry is unreachable now, the first write resolves the schema instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resolveAvroSchemas() {
+        if (!PAYLOAD_FORMAT_AVRO.equals(payloadFormat)) {
+            return;
+        }
+
+        Map<String, Schema> schemas = Map.of(
+                "OrderCreated", OrderCreated.getClassSchema(),
+                "OrderStatusChanged", OrderStatusChanged.getClassSchema());
+        schemas.forEach((eventType, schema) -> {
+            if (!outboxEventPublisher.isAvroRouted(eventType)) {
+                return;
+            }
+            String topic = outboxEventPublisher.determineTopicForEvent(eventType);
+            try {
+                int schemaId = avroPayloadEncoder.resolveSchema(topic, schema);
+                logger.info("Resolved Avro schema {} for {} events on {}", schemaId, eventType, topic);
+            } catch (Exception e) {
+                logger.warn("Could not resolve Avro schema for {} events on {}, first write will: {}",
+                        eventType, topic, e.getMessage());
+            }
+        });
     }
 
     public void createOrderCreatedEvent(Order order, List<OrderItemDto> items) {
@@ -56,9 +109,6 @@ public class OrderEventService {
                     .setVersion(1)
                     .build();
 
-            // Convert to JSON for storage
-            String payload = orderCreated.toString();
-
             // Create headers
             Map<String, String> headers = createEventHeaders("OrderCreated", order.getOrderId());
             String headersJson = objectMapper.writeValueAsString(headers);
@@ -68,11 +118,15 @@ public class OrderEventService {
                     "Order",
                     order.getOrderId(),
                     "OrderCreated",
-                    payload,
+                    null,
                     headersJson
             );
 
+            applyPayload(outboxEvent, orderCreated);
+
             outboxEventRepository.save(outboxEvent);
+            outboxFastPath.publishAfterCommit(outboxEvent);
+            orderResponseCache.invalidate(order.getOrderId());
             logger.info("OrderCreated event saved to outbox for order: {}", order.getOrderId());
 
         } catch (JsonProcessingException e) {
@@ -86,15 +140,15 @@ public class OrderEventService {
                 order.getOrderId(), previousStatus, newStatus);
 
         try {
-            // Create event payload based on status
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("orderId", order.getOrderId());
-            payload.put("userId", order.getUserId());
-            payload.put("previousStatus", previousStatus.toString());
-            payload.put("newStatus", newStatus.toString());
-            payload.put("updatedAt", order.getUpdatedAt().toString());
-
-            String payloadJson = objectMapper.writeValueAsString(payload);
+            // Create Avro event
+            OrderStatusChanged statusChanged = OrderStatusChanged.newBuilder()
+                    .setOrderId(order.getOrderId())
+                    .setUserId(order.getUserId())
+                    .setPreviousStatus(previousStatus.toString())
+                    .setNewStatus(newStatus.toString())
+                    .setUpdatedAt(order.getUpdatedAt().toString())
+                    .setVersion(1)
+                    .build();
 
             // Create headers
             Map<String, String> headers = createEventHeaders("OrderStatusChanged", order.getOrderId());
@@ -105,11 +159,15 @@ public class OrderEventService {
                     "Order",
                     order.getOrderId(),
                     "OrderStatusChanged",
-                    payloadJson,
+                    null,
                     headersJson
             );
 
+            applyPayload(outboxEvent, statusChanged);
+
             outboxEventRepository.save(outboxEvent);
+            outboxFastPath.publishAfterCommit(outboxEvent);
+            orderResponseCache.invalidate(order.getOrderId());
             logger.info("OrderStatusChanged event saved to outbox for order: {}", order.getOrderId());
 
         } catch (JsonProcessingException e) {
@@ -118,6 +176,18 @@ public class OrderEventService {
         }
     }
 
+    private void applyPayload(OutboxEvent outboxEvent, SpecificRecord record) {
+        String eventType = outboxEvent.getEventType();
+        if (PAYLOAD_FORMAT_AVRO.equals(payloadFormat) && outboxEventPublisher.isAvroRouted(eventType)) {
+            // Serialize once, here; the relay forwards these bytes untouched
+            String topic = outboxEventPublisher.determineTopicForEvent(eventType);
+            outboxEvent.setPayloadAvro(avroPayloadEncoder.encode(topic, record));
+        } else {
+            // Convert to JSON for storage
+            outboxEvent.setPayload(record.toString());
+        }
+    }
+
     private Map<String, String> createEventHeaders(String eventType, String orderId) {
         Map<String, String> headers = new HashMap<>();
         headers.put("eventType", eventType);
@@ -0,0 +1,202 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.BatchCreateOrderResponse;
+import com.example.orderservice.dto.BatchOrderResult;
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for order creation. Concurrent {@link #submit} calls are queued, and a single
+ * writer thread collects up to {@code max-batch} of them, waiting at most {@code max-wait} after
+ * the first, and writes them with {@link OrderService#createOrders} in one transaction with
+ * batched inserts. Each caller's future completes once that shared commit is done, so many
+ * requests pay for one WAL flush.
+ * <p>
+ * Disabled, stopped, or when the queue is full, {@link #submit} creates the order right away in
+ * the caller's own transaction. Futures fail with the exception the order itself failed with.
+ */
+@Service
+public class OrderGroupCommitWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderGroupCommitWriter.class);
+
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary commitBatchSize;
+    private final Timer commitLatency;
+
+    @Value("${app.orders.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.orders.group-commit.max-batch:100}")
+    private int maxBatch;
+
+    @Value("${app.orders.group-commit.max-wait:5}")
+    private long maxWaitMs;
+
+    @Value("${app.orders.group-commit.queue-capacity:5000}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingOrder> queue;
+    // Guards running against enqueueing, so nothing is queued once stop() has begun draining
+    private final Object submitLock = new Object();
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public OrderGroupCommitWriter(OrderService orderService, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+
+        this.commitBatchSize = DistributionSummary.builder("orders.group.commit.batch.size")
+                .description("Orders written per group commit")
+                .baseUnit("orders")
+                .register(meterRegistry);
+
+        this.commitLatency = Timer.builder("orders.group.commit.latency")
+                .description("Time from queueing an order to its group commit completing")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<OrderResponse> submit(CreateOrderRequest request) {
+        synchronized (submitLock) {
+            if (running) {
+                PendingOrder pending = new PendingOrder(request, System.nanoTime(), new CompletableFuture<>());
+                if (queue.offer(pending)) {
+                    return pending.future;
+                }
+                logger.debug("Group commit queue full, creating order for user {} directly", request.getUserId());
+            }
+        }
+
+        try {
+            return CompletableFuture.completedFuture(orderService.createOrder(request));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("orders.group.commit.queue.size", queue, Collection::size)
+                .description("Orders waiting for the next group commit")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::writeLoop, "order-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Order group commit started with max batch {} and max wait {} ms", maxBatch, maxWaitMs);
+    }
+
+    @Override
+    public void stop() {
+        synchronized (submitLock) {
+            running = false;
+        }
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Only left over if the writer did not finish within the timeout
+        if (queue != null) {
+            List<PendingOrder> leftover = new ArrayList<>();
+            queue.drainTo(leftover);
+            leftover.forEach(pending -> pending.future.completeExceptionally(
+                    new IllegalStateException("Order group commit stopped")));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeLoop() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Stopping: commit what was collected, then whatever is still queued
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingOrder> batch) throws InterruptedException {
+        if (!running) {
+            queue.drainTo(batch, maxBatch);
+            return;
+        }
+
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        while (batch.size() < maxBatch) {
+            if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+                continue;
+            }
+            PendingOrder next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        commitBatchSize.record(batch.size());
+        try {
+            BatchCreateOrderResponse response = orderService.createOrders(
+                    batch.stream().map(PendingOrder::request).toList());
+
+            for (BatchOrderResult result : response.getResults()) {
+                PendingOrder pending = batch.get(result.getIndex());
+                if (result.isCreated()) {
+                    pending.future.complete(result.getOrder());
+                } else {
+                    pending.future.completeExceptionally(result.getCause() != null
+                            ? result.getCause()
+                            : new RuntimeException("Failed to create order: " + result.getError()));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Group commit of {} orders failed", batch.size(), e);
+            batch.forEach(pending -> pending.future.completeExceptionally(e));
+        }
+
+        long now = System.nanoTime();
+        batch.forEach(pending -> commitLatency.record(now - pending.queuedAt, TimeUnit.NANOSECONDS));
+    }
+
+    private record PendingOrder(CreateOrderRequest request, long queuedAt, CompletableFuture<OrderResponse> future) {}
+}
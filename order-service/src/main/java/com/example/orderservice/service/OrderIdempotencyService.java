@@ -0,0 +1,283 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.BatchCreateOrderResponse;
+import com.example.orderservice.dto.BatchOrderResult;
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.entity.OrderIdempotencyKey;
+import com.example.orderservice.repository.OrderIdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Order creation keyed by the client's {@code Idempotency-Key} (or the {@code requestId} of an
+ * ingested request), so a retried request returns the order of the first attempt instead of
+ * starting another saga. Recent keys are answered from a
+ * bounded in-memory index without touching the database; {@code order_idempotency_keys} is the
+ * durable authority and settles concurrent retries on its primary key.
+ * <p>
+ * A key reused with a different request body is rejected. Keys are kept for {@code retention}
+ * and counted in {@code orders.idempotency.requests} by outcome.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyService.class);
+
+    private static final String CACHE_NAME = "order-idempotency-keys";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration retention;
+    private final Cache<String, CompletedRequest> recentKeys;
+
+    @Autowired
+    public OrderIdempotencyService(OrderService orderService,
+                                   OrderIdempotencyKeyRepository idempotencyKeyRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.orders.idempotency.cache.max-size:100000}") long cacheMaxSize,
+                                   @Value("${app.orders.idempotency.retention:24h}") Duration retention) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.retention = retention;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentKeys, CACHE_NAME);
+    }
+
+    public IdempotentResult createOrder(String idempotencyKey, CreateOrderRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        CompletedRequest recent = recentKeys.getIfPresent(idempotencyKey);
+        if (recent != null) {
+            checkHash(idempotencyKey, recent.requestHash(), requestHash);
+            count("replayed-memory");
+            return new IdempotentResult(recent.order(), true);
+        }
+
+        // Read-write so the lookup sees the primary, however read-only work is routed
+        IdempotentResult result = transactionTemplate.execute(status -> {
+            Optional<OrderResponse> previous = findPrevious(idempotencyKey, requestHash);
+            if (previous.isPresent()) {
+                return new IdempotentResult(previous.get(), true);
+            }
+
+            OrderResponse created = orderService.createOrder(request);
+            if (idempotencyKeyRepository.claim(idempotencyKey, requestHash, created.getOrderId()) == 1) {
+                return new IdempotentResult(created, false);
+            }
+            // A concurrent retry committed the key first: drop this order and replay that one
+            status.setRollbackOnly();
+            return null;
+        });
+
+        if (result == null) {
+            result = transactionTemplate.execute(status -> findPrevious(idempotencyKey, requestHash)
+                    .map(order -> new IdempotentResult(order, true))
+                    .orElseThrow(() -> new IllegalStateException("Idempotency-Key " + idempotencyKey + " claimed but not found")));
+        }
+
+        recentKeys.put(idempotencyKey, new CompletedRequest(requestHash, result.order()));
+        count(result.replayed() ? "replayed-database" : "created");
+        if (result.replayed()) {
+            logger.info("Replayed order {} for Idempotency-Key {}", result.order().getOrderId(), idempotencyKey);
+        }
+        return result;
+    }
+
+    /**
+     * Batch form of {@link #createOrder} for the ingest topic, with one key per request. Keys
+     * already seen are replayed after a single lookup for the whole batch; the other orders are
+     * written through {@link OrderService#createOrders(List, java.util.function.ObjIntConsumer)}
+     * in chunked transactions, each order claiming its key in the transaction that writes it.
+     *
+     * @return one result per key, in the iteration order of {@code requests}
+     */
+    public Map<String, KeyedResult> createOrders(Map<String, CreateOrderRequest> requests) {
+        Map<String, String> hashes = new HashMap<>();
+        requests.forEach((key, request) -> hashes.put(key, hash(request)));
+
+        Map<String, KeyedResult> resolved = new HashMap<>();
+        List<String> unseen = new ArrayList<>();
+        for (String key : requests.keySet()) {
+            CompletedRequest recent = recentKeys.getIfPresent(key);
+            if (recent == null) {
+                unseen.add(key);
+            } else if (recent.requestHash().equals(hashes.get(key))) {
+                count("replayed-memory");
+                resolved.put(key, KeyedResult.replayed(recent.order().getOrderId()));
+            } else {
+                count("conflict");
+                resolved.put(key, KeyedResult.rejected(new IdempotencyKeyConflictException(key).getMessage()));
+            }
+        }
+
+        List<String> newKeys = resolveRecorded(unseen, hashes, resolved);
+        if (!newKeys.isEmpty()) {
+            BatchCreateOrderResponse created = orderService.createOrders(
+                    newKeys.stream().map(requests::get).toList(),
+                    (order, index) -> {
+                        String key = newKeys.get(index);
+                        if (idempotencyKeyRepository.claim(key, hashes.get(key), order.getOrderId()) == 0) {
+                            throw new IllegalStateException("Idempotency-Key " + key + " was claimed concurrently");
+                        }
+                    });
+
+            List<String> failedKeys = new ArrayList<>();
+            Map<String, String> errors = new HashMap<>();
+            for (BatchOrderResult result : created.getResults()) {
+                String key = newKeys.get(result.getIndex());
+                if (result.isCreated()) {
+                    count("created");
+                    recentKeys.put(key, new CompletedRequest(hashes.get(key), result.getOrder()));
+                    resolved.put(key, KeyedResult.created(result.getOrder().getOrderId()));
+                } else {
+                    failedKeys.add(key);
+                    errors.put(key, result.getError());
+                }
+            }
+
+            // A failure may be a key that a concurrent consumer claimed after the lookup
+            resolveRecorded(failedKeys, hashes, resolved)
+                    .forEach(key -> resolved.put(key, KeyedResult.rejected(errors.get(key))));
+        }
+
+        Map<String, KeyedResult> results = new LinkedHashMap<>();
+        requests.keySet().forEach(key -> results.put(key, resolved.get(key)));
+        return results;
+    }
+
+    @Scheduled(cron = "${app.orders.idempotency.purge-cron:0 30 2 * * ?}") // Daily at 2:30 AM
+    public void purgeExpiredKeys() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(retention)));
+            logger.info("Purged {} expired idempotency keys", deleted);
+        } catch (Exception e) {
+            logger.error("Error purging expired idempotency keys", e);
+        }
+    }
+
+    /**
+     * Resolves the keys already recorded in {@code order_idempotency_keys} with one query.
+     *
+     * @return the keys that are not recorded
+     */
+    private List<String> resolveRecorded(List<String> keys, Map<String, String> hashes, Map<String, KeyedResult> resolved) {
+        if (keys.isEmpty()) {
+            return keys;
+        }
+        // Read-write so the lookup sees the primary, however read-only work is routed
+        List<OrderIdempotencyKey> recorded = transactionTemplate.execute(status -> idempotencyKeyRepository.findAllById(keys));
+
+        for (OrderIdempotencyKey previous : recorded) {
+            String key = previous.getIdempotencyKey();
+            if (previous.getRequestHash().equals(hashes.get(key))) {
+                count("replayed-database");
+                resolved.put(key, KeyedResult.replayed(previous.getOrderId()));
+            } else {
+                count("conflict");
+                resolved.put(key, KeyedResult.rejected(new IdempotencyKeyConflictException(key).getMessage()));
+            }
+        }
+        return keys.stream().filter(key -> !resolved.containsKey(key)).toList();
+    }
+
+    private Optional<OrderResponse> findPrevious(String idempotencyKey, String requestHash) {
+        Optional<OrderIdempotencyKey> previous = idempotencyKeyRepository.findById(idempotencyKey);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        checkHash(idempotencyKey, previous.get().getRequestHash(), requestHash);
+        return orderService.getOrder(previous.get().getOrderId());
+    }
+
+    private void checkHash(String idempotencyKey, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            count("conflict");
+            throw new IdempotencyKeyConflictException(idempotencyKey);
+        }
+    }
+
+    private String hash(CreateOrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash order request", e);
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("orders.idempotency.requests")
+                .description("Order creations carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public record IdempotentResult(OrderResponse order, boolean replayed) {}
+
+    /**
+     * Outcome for one key of {@link #createOrders(Map)}: the order it maps to, or why it has none.
+     */
+    public record KeyedResult(String orderId, boolean replayed, String error) {
+
+        static KeyedResult created(String orderId) {
+            return new KeyedResult(orderId, false, null);
+        }
+
+        static KeyedResult replayed(String orderId) {
+            return new KeyedResult(orderId, true, null);
+        }
+
+        static KeyedResult rejected(String error) {
+            return new KeyedResult(null, false, error);
+        }
+
+        public boolean accepted() {
+            return orderId != null;
+        }
+    }
+
+    private record CompletedRequest(String requestHash, OrderResponse order) {}
+}
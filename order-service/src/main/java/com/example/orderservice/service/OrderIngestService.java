@@ -0,0 +1,160 @@
+package com.example.orderservice.service;
+
+import com.example.events.OrderRequest;
+import com.example.events.OrderRequestReply;
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderItemDto;
+import com.example.orderservice.service.OrderIdempotencyService.KeyedResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Creates orders from {@code order.requests}, the Kafka counterpart of {@code POST /api/v1/orders}
+ * for bulk sources. A poll is validated as a whole, its valid requests are written in chunked
+ * transactions with their {@code requestId} as idempotency key, and every request gets an
+ * {@link OrderRequestReply} on the reply topic, keyed by requestId.
+ * <p>
+ * Replies are sent after the orders commit and before the poll's offsets are, so a crash in
+ * between redelivers the requests, which replay their orders and reply again: replies are
+ * at least once, orders exactly once.
+ */
+@Service
+public class OrderIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIngestService.class);
+
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final Validator validator;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.orders.ingest.reply-topic:order.request-replies}")
+    private String replyTopic;
+
+    @Autowired
+    public OrderIngestService(OrderIdempotencyService orderIdempotencyService,
+                              Validator validator,
+                              KafkaTemplate<String, Object> kafkaTemplate,
+                              MeterRegistry meterRegistry) {
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.validator = validator;
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Ingests one poll of requests and returns once every reply has been acknowledged.
+     *
+     * @return the replies, in request order
+     */
+    public List<OrderRequestReply> ingest(List<OrderRequest> requests) {
+        Map<String, OrderRequest> firstByRequestId = new HashMap<>();
+        Map<String, CreateOrderRequest> valid = new LinkedHashMap<>();
+        Map<OrderRequest, List<String>> rejected = new HashMap<>();
+
+        for (OrderRequest request : requests) {
+            List<String> errors = validate(request, firstByRequestId.putIfAbsent(request.getRequestId(), request));
+            if (errors.isEmpty()) {
+                valid.putIfAbsent(request.getRequestId(), toCreateOrderRequest(request));
+            } else {
+                rejected.put(request, errors);
+            }
+        }
+
+        Map<String, KeyedResult> results = valid.isEmpty() ? Map.of() : orderIdempotencyService.createOrders(valid);
+
+        List<OrderRequestReply> replies = new ArrayList<>(requests.size());
+        for (OrderRequest request : requests) {
+            List<String> errors = rejected.get(request);
+            KeyedResult result = errors == null ? results.get(request.getRequestId()) : null;
+            if (result != null && !result.accepted()) {
+                errors = List.of(result.error());
+            }
+            replies.add(errors == null ? accepted(request, result.orderId()) : rejected(request, errors));
+        }
+
+        sendReplies(replies);
+
+        long accepted = replies.stream().filter(OrderRequestReply::getAccepted).count();
+        logger.info("Ingested {} order requests: {} accepted, {} rejected", requests.size(), accepted, requests.size() - accepted);
+        return replies;
+    }
+
+    private List<String> validate(OrderRequest request, OrderRequest first) {
+        List<String> errors = new ArrayList<>();
+        if (request.getRequestId() == null || request.getRequestId().isBlank()) {
+            errors.add("requestId: must not be blank");
+        }
+        // A repeat within the poll shares the first request's outcome, unless it asks for something else
+        if (first != null && !(first.getUserId().equals(request.getUserId()) && first.getItems().equals(request.getItems()))) {
+            errors.add(new IdempotencyKeyConflictException(request.getRequestId()).getMessage());
+        }
+        for (ConstraintViolation<CreateOrderRequest> violation : validator.validate(toCreateOrderRequest(request))) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    private void sendReplies(List<OrderRequestReply> replies) {
+        // Waiting here holds back the offset commit until every reply is on the broker
+        CompletableFuture.allOf(replies.stream()
+                .map(reply -> kafkaTemplate.send(replyTopic, reply.getRequestId(), reply))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private OrderRequestReply accepted(OrderRequest request, String orderId) {
+        count("accepted");
+        return OrderRequestReply.newBuilder()
+                .setRequestId(request.getRequestId())
+                .setAccepted(true)
+                .setOrderId(orderId)
+                .setErrors(List.of())
+                .setRepliedAt(Instant.now().toString())
+                .build();
+    }
+
+    private OrderRequestReply rejected(OrderRequest request, List<String> errors) {
+        count("rejected");
+        return OrderRequestReply.newBuilder()
+                .setRequestId(request.getRequestId())
+                .setAccepted(false)
+                .setOrderId(null)
+                .setErrors(errors)
+                .setRepliedAt(Instant.now().toString())
+                .build();
+    }
+
+    private void count(String outcome) {
+        Counter.builder("orders.ingest.requests")
+                .description("Order requests consumed from the ingest topic, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static CreateOrderRequest toCreateOrderRequest(OrderRequest request) {
+        List<OrderItemDto> items = request.getItems().stream()
+                .map(item -> new OrderItemDto(item.getSku(), item.getQty(), BigDecimal.valueOf(item.getPrice())))
+                .toList();
+        return new CreateOrderRequest(request.getUserId(), items);
+    }
+}
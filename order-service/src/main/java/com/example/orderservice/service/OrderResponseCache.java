@@ -0,0 +1,79 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OrderResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of fully built {@link OrderResponse}s, so repeated reads of an order skip
+ * the query and the items JSON parsing. Bounded by weight (one unit per order plus one per item)
+ * and exported as the {@code cache.*} meters with {@code cache=orders}.
+ * <p>
+ * Entries are dropped when the order changes, once right away and once when the writing
+ * transaction completes. Loads go through Caffeine's per-key compute, so an invalidation that
+ * races a load waits for it and then removes what it loaded; a reader can never put back the
+ * pre-commit state after the second invalidation.
+ */
+@Component
+public class OrderResponseCache {
+
+    private static final String CACHE_NAME = "orders";
+
+    private final boolean enabled;
+    private final Cache<String, OrderResponse> cache;
+
+    @Autowired
+    public OrderResponseCache(MeterRegistry meterRegistry,
+                              @Value("${app.orders.cache.enabled:true}") boolean enabled,
+                              @Value("${app.orders.cache.max-weight:100000}") long maxWeight,
+                              @Value("${app.orders.cache.expire-after-write:600000}") long expireAfterWriteMs) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String orderId, OrderResponse order) ->
+                        1 + (order.getItems() != null ? order.getItems().size() : 0))
+                // Backstop for writes that bypass OrderService, e.g. manual SQL
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<OrderResponse> get(String orderId, Function<String, Optional<OrderResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(orderId);
+        }
+        // Absent orders are not cached; the loader returns null for them
+        return Optional.ofNullable(cache.get(orderId, id -> loader.apply(id).orElse(null)));
+    }
+
+    /**
+     * Drop the order now and again when the current transaction completes, if there is one.
+     */
+    public void invalidate(String orderId) {
+        if (!enabled) {
+            return;
+        }
+        cache.invalidate(orderId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(orderId);
+                }
+            });
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.orderservice.service;
 
+import com.example.common.id.TimeOrderedIdGenerator;
+import com.example.orderservice.dto.BatchCreateOrderResponse;
+import com.example.orderservice.dto.BatchOrderResult;
 import com.example.orderservice.dto.CreateOrderRequest;
 import com.example.orderservice.dto.OrderItemDto;
+import com.example.orderservice.dto.OrderPageResponse;
 import com.example.orderservice.dto.OrderResponse;
 import com.example.orderservice.entity.Order;
 import com.example.orderservice.entity.OrderStatus;
 import com.example.orderservice.entity.OutboxEvent;
 import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderRepositoryCustom.StatusTransition;
 import com.example.orderservice.repository.OutboxEventRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -14,13 +19,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.ObjIntConsumer;
 
 @Service
 @Transactional
@@ -32,21 +47,110 @@ public class OrderService {
     private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
     private final OrderEventService orderEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderResponseCache orderResponseCache;
+    private final TimeOrderedIdGenerator idGenerator;
+
+    // Orders written per transaction by createOrders; a multiple of hibernate.jdbc.batch_size
+    @Value("${app.orders.batch.chunk-size:100}")
+    private int batchChunkSize;
+
+    @Value("${app.orders.page.max-size:200}")
+    private int maxPageSize;
 
     @Autowired
     public OrderService(OrderRepository orderRepository,
                        OutboxEventRepository outboxEventRepository,
                        ObjectMapper objectMapper,
-                       OrderEventService orderEventService) {
+                       OrderEventService orderEventService,
+                       TransactionTemplate transactionTemplate,
+                       OrderResponseCache orderResponseCache,
+                       TimeOrderedIdGenerator idGenerator) {
         this.orderRepository = orderRepository;
         this.outboxEventRepository = outboxEventRepository;
         this.objectMapper = objectMapper;
         this.orderEventService = orderEventService;
+        this.transactionTemplate = transactionTemplate;
+        this.orderResponseCache = orderResponseCache;
+        this.idGenerator = idGenerator;
     }
 
     public OrderResponse createOrder(CreateOrderRequest request) {
         logger.info("Creating order for user: {}", request.getUserId());
 
+        OrderResponse response = persistOrder(request);
+
+        logger.info("Order created successfully: {}", response.getOrderId());
+        return response;
+    }
+
+    /**
+     * Creates many orders in a few transactions instead of one per order. Orders are written in
+     * chunks of {@code chunk-size}, one transaction each, so Hibernate sends the order and outbox
+     * inserts as JDBC batches. When a chunk fails, its orders are retried one per transaction, so
+     * only the orders that actually fail are reported as failed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchCreateOrderResponse createOrders(List<CreateOrderRequest> requests) {
+        return createOrders(requests, (order, index) -> {});
+    }
+
+    /**
+     * Like {@link #createOrders(List)}, calling {@code onCreated} with each order and its request
+     * index inside the transaction that writes it: what it writes commits or rolls back with the
+     * order, and an exception it throws fails the order.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchCreateOrderResponse createOrders(List<CreateOrderRequest> requests, ObjIntConsumer<OrderResponse> onCreated) {
+        logger.info("Creating batch of {} orders", requests.size());
+
+        List<BatchOrderResult> results = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, requests.size());
+            results.addAll(createChunk(from, requests.subList(from, to), onCreated));
+        }
+
+        BatchCreateOrderResponse response = new BatchCreateOrderResponse(results);
+        logger.info("Batch of {} orders done: {} created, {} failed",
+                requests.size(), response.getCreated(), response.getFailed());
+        return response;
+    }
+
+    private List<BatchOrderResult> createChunk(int offset, List<CreateOrderRequest> chunk,
+                                               ObjIntConsumer<OrderResponse> onCreated) {
+        try {
+            List<OrderResponse> created = transactionTemplate.execute(status -> {
+                List<OrderResponse> orders = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    OrderResponse order = persistOrder(chunk.get(i));
+                    onCreated.accept(order, offset + i);
+                    orders.add(order);
+                }
+                return orders;
+            });
+
+            List<BatchOrderResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < created.size(); i++) {
+                results.add(BatchOrderResult.created(offset + i, created.get(i)));
+            }
+            return results;
+
+        } catch (Exception e) {
+            if (chunk.size() == 1) {
+                logger.warn("Failed to create order {} of batch for user: {}", offset, chunk.get(0).getUserId(), e);
+                return List.of(BatchOrderResult.failed(offset, e));
+            }
+
+            logger.warn("Batch chunk of {} orders at {} failed, retrying them one by one", chunk.size(), offset, e);
+            List<BatchOrderResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.addAll(createChunk(offset + i, chunk.subList(i, i + 1), onCreated));
+            }
+            return results;
+        }
+    }
+
+    private OrderResponse persistOrder(CreateOrderRequest request) {
         try {
             // Generate unique order ID
             String orderId = generateOrderId();
@@ -57,14 +161,13 @@ public class OrderService {
             // Convert items to JSON
             String itemsJson = objectMapper.writeValueAsString(request.getItems());
 
-            // Create order entity
+            // Create order entity; its time-ordered UUID key is generated in memory, which keeps inserts batchable
             Order order = new Order(orderId, request.getUserId(), total, itemsJson, OrderStatus.NEW);
             order = orderRepository.save(order);
 
             // Create outbox event for OrderCreated
             orderEventService.createOrderCreatedEvent(order, request.getItems());
 
-            logger.info("Order created successfully: {}", orderId);
             return mapToOrderResponse(order, request.getItems());
 
         } catch (JsonProcessingException e) {
@@ -73,13 +176,17 @@ public class OrderService {
         }
     }
 
-    @Transactional(readOnly = true)
+    // Not read-only: cache misses must load from the primary, a replica may still return the
+    // status the last write's invalidation just dropped
+    @Transactional
     public Optional<OrderResponse> getOrder(String orderId) {
-        return orderRepository.findByOrderId(orderId)
+        // Orders in a final status may have been moved to orders_archive
+        return orderResponseCache.get(orderId, id -> orderRepository.findByOrderId(id)
+                .or(() -> orderRepository.findArchivedByOrderId(id))
                 .map(order -> {
                     List<OrderItemDto> items = deserializeItems(order.getItems());
                     return mapToOrderResponse(order, items);
-                });
+                }));
     }
 
     @Transactional(readOnly = true)
@@ -92,24 +199,97 @@ public class OrderService {
                 .toList();
     }
 
+    /**
+     * One page of the user's orders, newest first. The cursor is the position of the last order
+     * of the previous page, so every page costs the same index range scan, unlike an OFFSET.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersByUserPage(String userId, int limit, String cursor) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        // One extra row tells whether another page follows
+        List<Order> orders;
+        if (cursor == null || cursor.isEmpty()) {
+            orders = orderRepository.findFirstPageByUserId(userId, pageSize + 1);
+        } else {
+            OrderCursor position = decodeCursor(cursor);
+            orders = orderRepository.findPageByUserIdAfter(userId, position.createdAt(), position.id(), pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            nextCursor = encodeCursor(orders.get(pageSize - 1));
+        }
+
+        List<OrderResponse> page = orders.stream()
+                .map(order -> mapToOrderResponse(order, deserializeItems(order.getItems())))
+                .toList();
+        return new OrderPageResponse(page, nextCursor);
+    }
+
+    /**
+     * Moves the order to {@code status} with one guarded UPDATE instead of a load and a save. The
+     * outbox row needs the previous status the UPDATE returns, so it follows in the same
+     * transaction.
+     *
+     * @throws OrderStatusTransitionException if the order may not move to {@code status} from its
+     * current status, or another update changed that status first
+     */
     public void updateOrderStatus(String orderId, OrderStatus status) {
         logger.info("Updating order {} status to {}", orderId, status);
 
+        StatusTransition transition = orderRepository.transitionStatus(orderId, status)
+                .orElseThrow(() -> rejectTransition(orderId, status));
+        orderResponseCache.invalidate(orderId);
+
+        // Create appropriate outbox events based on status change
+        orderEventService.createStatusChangeEvent(transition.order(), transition.previousStatus(), status);
+
+        logger.info("Order {} status updated from {} to {}", orderId, transition.previousStatus(), status);
+    }
+
+    /**
+     * Applies statuses reported by the saga in one batched UPDATE. Orders already at or past the
+     * reported status are left alone, so redelivered or out-of-order replies are harmless.
+     *
+     * @return the number of orders whose status changed
+     */
+    @Transactional
+    public int applySagaStatuses(Map<String, OrderStatus> statuses) {
+        List<String> updated = orderRepository.advanceStatuses(statuses);
+        updated.forEach(orderResponseCache::invalidate);
+        return updated.size();
+    }
+
+    private RuntimeException rejectTransition(String orderId, OrderStatus status) {
+        // Only read on the rejection path, to tell a missing order from a refused transition
         Order order = orderRepository.findByOrderId(orderId)
+                .or(() -> orderRepository.findArchivedByOrderId(orderId))
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+        return new OrderStatusTransitionException(orderId, order.getStatus(), status);
+    }
 
-        OrderStatus previousStatus = order.getStatus();
-        order.setStatus(status);
-        orderRepository.save(order);
-
-        // Create appropriate outbox events based on status change
-        orderEventService.createStatusChangeEvent(order, previousStatus, status);
+    private static String encodeCursor(Order order) {
+        String position = order.getCreatedAt() + "|" + order.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
 
-        logger.info("Order {} status updated from {} to {}", orderId, previousStatus, status);
+    private static OrderCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            return new OrderCursor(Instant.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
     }
 
+    private record OrderCursor(Instant createdAt, UUID id) {}
+
     private String generateOrderId() {
-        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextId("ORD-");
     }
 
     private BigDecimal calculateTotal(List<OrderItemDto> items) {
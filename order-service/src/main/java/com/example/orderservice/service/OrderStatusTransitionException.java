@@ -0,0 +1,35 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OrderStatus;
+
+/**
+ * The order is not in a status it may move to the requested one from, either because the
+ * transition is not allowed or because another update changed the status first.
+ */
+public class OrderStatusTransitionException extends RuntimeException {
+
+    private final String orderId;
+    private final OrderStatus currentStatus;
+    private final OrderStatus targetStatus;
+
+    public OrderStatusTransitionException(String orderId, OrderStatus currentStatus, OrderStatus targetStatus) {
+        super(targetStatus.canTransitionFrom(currentStatus)
+                ? "Order " + orderId + " changed status concurrently, now " + currentStatus
+                : "Order " + orderId + " cannot move from " + currentStatus + " to " + targetStatus);
+        this.orderId = orderId;
+        this.currentStatus = currentStatus;
+        this.targetStatus = targetStatus;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public OrderStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public OrderStatus getTargetStatus() {
+        return targetStatus;
+    }
+}
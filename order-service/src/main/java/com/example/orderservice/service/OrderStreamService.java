@@ -0,0 +1,100 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OrderItemDto;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.entity.OrderStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes all of a user's orders as newline-delimited JSON, newest first, while the rows come
+ * off a server-side cursor ({@code fetch-size} rows at a time, inside a read-only transaction).
+ * Only one fetch is held in memory, however many orders the user has.
+ * <p>
+ * The cursor keeps a connection checked out for as long as the client takes to read the
+ * response.
+ */
+@Service
+public class OrderStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStreamService.class);
+
+    private static final TypeReference<List<OrderItemDto>> ITEMS_TYPE = new TypeReference<>() {};
+
+    private static final String SELECT_ORDERS = """
+            SELECT order_id, user_id, total, items, status, created_at, updated_at
+            FROM orders
+            WHERE user_id = ?
+            ORDER BY created_at DESC, id DESC
+            """;
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    @Autowired
+    public OrderStreamService(ObjectMapper objectMapper,
+                              DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.orders.stream.fetch-size:500}") int fetchSize) {
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+
+        // Postgres only streams with a fetch size inside a transaction; otherwise it buffers everything
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public long streamOrdersByUser(String userId, OutputStream out) {
+        AtomicLong written = new AtomicLong();
+
+        readOnlyTransaction.executeWithoutResult(status -> cursorTemplate.query(SELECT_ORDERS, (RowCallbackHandler) rs -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(mapOrder(rs)));
+                out.write('\n');
+                // Hand each fetch to the client as it is written rather than when the buffer fills
+                if (written.incrementAndGet() % fetchSize == 0) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, userId));
+
+        logger.debug("Streamed {} orders for user: {}", written.get(), userId);
+        return written.get();
+    }
+
+    private OrderResponse mapOrder(ResultSet rs) throws SQLException, IOException {
+        return new OrderResponse(
+                rs.getString("order_id"),
+                rs.getString("user_id"),
+                rs.getBigDecimal("total"),
+                objectMapper.readValue(rs.getString("items"), ITEMS_TYPE),
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getTimestamp("updated_at").toInstant()
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Completes outbox events once the broker has acknowledged them, according to
+ * {@code app.outbox.completion-mode}:
+ * <ul>
+ *   <li>{@code mark-processed} - set {@code processed_at}; rows leave with their partition</li>
+ *   <li>{@code delete} - delete the rows, or move them to {@code outbox_events_archive} when
+ *       {@code app.outbox.archive.enabled} is set, so the outbox only holds the backlog</li>
+ * </ul>
+ * Either way it is one statement per batch.
+ */
+@Component
+public class OutboxCompletion {
+
+    private static final String COMPLETION_MODE_DELETE = "delete";
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Value("${app.outbox.completion-mode:mark-processed}")
+    private String completionMode;
+
+    @Value("${app.outbox.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Autowired
+    public OutboxCompletion(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    public int complete(Collection<UUID> ids) {
+        Instant now = Instant.now();
+        if (!COMPLETION_MODE_DELETE.equals(completionMode)) {
+            return outboxEventRepository.markProcessed(ids, now);
+        }
+        return archiveEnabled
+                ? outboxEventRepository.archiveEvents(ids, now)
+                : outboxEventRepository.deleteEvents(ids);
+    }
+}
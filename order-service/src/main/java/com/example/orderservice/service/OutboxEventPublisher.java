@@ -0,0 +1,156 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.config.OutboxRoutingProperties;
+import com.example.orderservice.entity.OutboxEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.JsonProperties;
+import org.apache.avro.Schema;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns outbox rows into Kafka records. Shared by every relay mode so that
+ * topic routing, payload conversion and headers stay identical regardless of
+ * how the row was picked up.
+ * <p>
+ * Topic and format come from the {@code app.outbox.routing} table. Avro routes are sent as
+ * the generated record (or the stored pre-serialized bytes), JSON routes as the raw JSON.
+ */
+@Service
+public class OutboxEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxEventPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRoutingProperties routing;
+    private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OutboxEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                ObjectMapper objectMapper,
+                                OutboxRoutingProperties routing) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.routing = routing;
+    }
+
+    /**
+     * Synchronous send for reliability: returns once the broker has acknowledged the record.
+     */
+    public void publish(OutboxEvent event) throws Exception {
+        send(event).get();
+    }
+
+    public CompletableFuture<SendResult<String, Object>> send(OutboxEvent event) throws Exception {
+        ProducerRecord<String, Object> record = toProducerRecord(event);
+
+        logger.debug("Publishing event {} to topic {} with key {}",
+            event.getId(), record.topic(), record.key());
+
+        return kafkaTemplate.send(record);
+    }
+
+    private ProducerRecord<String, Object> toProducerRecord(OutboxEvent event) throws Exception {
+        String topic = determineTopicForEvent(event.getEventType());
+        String key = event.getAggregateId();
+
+        Object payload = parseEventPayload(event);
+
+        // Create producer record
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, payload);
+
+        // Add headers
+        if (event.getHeaders() != null) {
+            Map<String, String> headers = objectMapper.readValue(
+                event.getHeaders(),
+                new TypeReference<Map<String, String>>() {}
+            );
+
+            headers.forEach((headerKey, headerValue) ->
+                record.headers().add(new RecordHeader(headerKey, headerValue.getBytes()))
+            );
+        }
+
+        // Add outbox metadata headers
+        record.headers().add(new RecordHeader("outbox-event-id", event.getId().toString().getBytes()));
+        record.headers().add(new RecordHeader("outbox-event-type", event.getEventType().getBytes()));
+        record.headers().add(new RecordHeader("outbox-created-at", event.getCreatedAt().toString().getBytes()));
+
+        return record;
+    }
+
+    /**
+     * Topic an event type is published to. Also used when encoding Avro payloads up front,
+     * since the topic determines the schema subject.
+     */
+    public String determineTopicForEvent(String eventType) {
+        return routing.routeFor(eventType).getTopic();
+    }
+
+    /**
+     * Whether events of this type are published as Avro, and so may be stored pre-serialized.
+     */
+    public boolean isAvroRouted(String eventType) {
+        return routing.routeFor(eventType).getFormat() == OutboxRoutingProperties.Format.AVRO;
+    }
+
+    private Object parseEventPayload(OutboxEvent event) throws Exception {
+        if (event.getPayloadAvro() != null) {
+            // Already in wire format; PassThroughAvroSerializer forwards the bytes as they are
+            return event.getPayloadAvro();
+        }
+
+        OutboxRoutingProperties.Route route = routing.routeFor(event.getEventType());
+        if (route.getFormat() == OutboxRoutingProperties.Format.AVRO) {
+            return toAvroRecord(event.getPayload(), schemaFor(route.recordClassFor(event.getEventType())));
+        }
+
+        // Raw JSON bytes also pass straight through the Avro value serializer
+        return event.getPayload().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a JSON payload into the generated Avro record. Fields missing from older payloads
+     * take their schema default.
+     */
+    private SpecificRecord toAvroRecord(String payload, Schema schema) throws Exception {
+        Map<String, Object> json = objectMapper.readValue(payload, new TypeReference<LinkedHashMap<String, Object>>() {});
+        for (Schema.Field field : schema.getFields()) {
+            if (!json.containsKey(field.name()) && field.hasDefaultValue()) {
+                Object defaultValue = field.defaultVal();
+                json.put(field.name(), defaultValue == JsonProperties.NULL_VALUE ? null : defaultValue);
+            }
+        }
+
+        SpecificDatumReader<SpecificRecord> reader = new SpecificDatumReader<>(schema);
+        return reader.read(null, DecoderFactory.get().jsonDecoder(schema, objectMapper.writeValueAsString(json)));
+    }
+
+    private Schema schemaFor(String recordClass) {
+        return schemas.computeIfAbsent(recordClass, className -> {
+            try {
+                return SpecificData.get().getSchema(Class.forName(className));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("No Avro record class " + className + " for outbox route", e);
+            }
+        });
+    }
+}
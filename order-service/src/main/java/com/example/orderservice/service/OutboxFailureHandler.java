@@ -0,0 +1,68 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides what happens to an outbox event whose publication failed: it is retried with
+ * exponential backoff and, after {@code max-attempts}, moved to {@code outbox_dead_letters}
+ * so it stops holding back its aggregate and costing work on every relay run.
+ */
+@Component
+public class OutboxFailureHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxFailureHandler.class);
+
+    // last_error is for operators, not a full stack trace
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.retry.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry.initial-backoff:1000}")
+    private long initialBackoffMs;
+
+    @Value("${app.outbox.retry.max-backoff:300000}")
+    private long maxBackoffMs;
+
+    @Autowired
+    public OutboxFailureHandler(OutboxEventRepository outboxEventRepository, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void onFailure(OutboxEvent event, Throwable error) {
+        try {
+            int attempts = outboxEventRepository.recordFailure(
+                    event.getId(), describe(error), initialBackoffMs, maxBackoffMs);
+
+            if (attempts >= maxAttempts && outboxEventRepository.quarantine(event.getId())) {
+                logger.error("Outbox event {} ({}) failed {} times, moved to outbox_dead_letters",
+                        event.getId(), event.getEventType(), attempts);
+                Counter.builder("outbox.events.quarantined")
+                        .description("Outbox events moved to the dead-letter table")
+                        .tag("event_type", event.getEventType())
+                        .register(meterRegistry)
+                        .increment();
+            }
+        } catch (Exception e) {
+            // The event stays unprocessed either way; it is just retried without backoff
+            logger.error("Failed to record publish failure for outbox event {}", event.getId(), e);
+        }
+    }
+
+    private static String describe(Throwable error) {
+        String description = error.getClass().getName() + ": " + error.getMessage();
+        return description.length() > MAX_ERROR_LENGTH ? description.substring(0, MAX_ERROR_LENGTH) : description;
+    }
+}
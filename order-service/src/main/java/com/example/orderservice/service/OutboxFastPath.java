@@ -0,0 +1,178 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * In-process fast path for outbox events. Once the transaction that wrote an outbox row
+ * commits, the row is queued in memory and published right away by a dispatcher thread,
+ * instead of waiting for the next poll.
+ * <p>
+ * Nothing here changes the delivery guarantee: the row is already durable when it is queued,
+ * and anything the fast path drops (full queue, failed send, crash) is still unprocessed in
+ * the table and gets relayed by {@link OutboxRelay}, which leaves rows younger than
+ * {@code poller-grace} alone so the two do not race for fresh events.
+ */
+@Service
+public class OutboxFastPath implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxFastPath.class);
+
+    private final OutboxRelay outboxRelay;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Value("${app.outbox.fast-path.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.outbox.fast-path.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.outbox.fast-path.max-batch:100}")
+    private int maxBatch;
+
+    private BlockingQueue<OutboxEvent> queue;
+
+    // Events that did not fit in the queue. The dispatcher defers them before each batch, so the
+    // pending-retry check holds back later events of their aggregates until the poller relays them;
+    // afterCommit itself cannot write, it still runs inside the finished transaction.
+    private final Queue<UUID> dropped = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    @Autowired
+    public OutboxFastPath(OutboxRelay outboxRelay, OutboxEventRepository outboxEventRepository) {
+        this.outboxRelay = outboxRelay;
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    /**
+     * Queue the event for immediate publication once the current transaction commits.
+     * Does nothing when the fast path is disabled or no transaction is active.
+     */
+    public void publishAfterCommit(OutboxEvent event) {
+        if (!running || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    /**
+     * Queue the event. An event that does not fit is left to the poller and marked deferred
+     * before the next batch goes out, so later events of its aggregate cannot overtake it.
+     */
+    void enqueue(OutboxEvent event) {
+        if (!queue.offer(event)) {
+            dropped.add(event.getId());
+            logger.debug("Fast path queue full, event {} left to the outbox poller", event.getId());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        dispatcher = new Thread(this::dispatch, "outbox-fast-path");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        logger.info("Outbox fast path started with queue capacity {}", queueCapacity);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Whatever is still queued is committed and unprocessed; the poller picks it up
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void dispatch() {
+        List<OutboxEvent> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - 1);
+                deferDropped();
+
+                // An aggregate with an event waiting for retry must not get newer events out first
+                Set<String> blocked = outboxEventRepository.findAggregatesWithPendingRetries(
+                        batch.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet()));
+                if (!blocked.isEmpty()) {
+                    outboxEventRepository.defer(batch.stream()
+                            .filter(event -> blocked.contains(event.getAggregateId()))
+                            .map(OutboxEvent::getId)
+                            .toList());
+                    batch.removeIf(event -> blocked.contains(event.getAggregateId()));
+                }
+
+                // Failed events record their retry, which blocks their aggregates from here on
+                outboxRelay.relayPipelined(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Fast path failed to relay {} outbox events, leaving them to the poller", batch.size(), e);
+                deferQuietly(batch.stream().map(OutboxEvent::getId).toList());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deferDropped() {
+        List<UUID> ids = new ArrayList<>();
+        for (UUID id = dropped.poll(); id != null; id = dropped.poll()) {
+            ids.add(id);
+        }
+        outboxEventRepository.defer(ids);
+    }
+
+    private void deferQuietly(List<UUID> ids) {
+        try {
+            outboxEventRepository.defer(ids);
+        } catch (Exception e) {
+            // Still unprocessed and so still the poller's; only their order is no longer guarded
+            logger.error("Could not defer {} outbox events after a fast path failure", ids.size(), e);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.entity.OutboxRelayCheckpoint;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.repository.OutboxRelayCheckpointRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Log-tailing outbox relay. Streams committed inserts on {@code outbox_events} from a
+ * Postgres logical replication slot (pgoutput) and publishes them as soon as their
+ * transaction commits, instead of waiting for the next poll.
+ * <p>
+ * The commit LSN of every relayed transaction is stored in {@code outbox_relay_checkpoints}
+ * before it is confirmed to the slot, so a restart resumes where the last run stopped.
+ * While the stream is down {@link OutboxRelay} keeps polling as a fallback; delivery is
+ * at-least-once either way and consumers de-duplicate on the {@code outbox-event-id} header.
+ * Whatever the poller completed during an outage is skipped when the slot replays it.
+ * <p>
+ * A slot serves one consumer at a time, so replicas compete for it through a session-level
+ * advisory lock keyed on the slot name; only the holder streams, the others keep polling and
+ * try again every {@code reconnect-delay}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.outbox.mode", havingValue = "log-tailing")
+public class OutboxLogTailingRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxLogTailingRelay.class);
+
+    private static final String OUTBOX_SCHEMA = "public";
+    private static final String OUTBOX_TABLE = "outbox_events";
+
+    // The replication connection runs with TimeZone=UTC, so offsets are always "+00"
+    private static final DateTimeFormatter PG_TIMESTAMPTZ = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .optionalStart()
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .optionalEnd()
+            .appendOffset("+HH:mm", "+00")
+            .toFormatter();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayCheckpointRepository checkpointRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final OutboxMetrics outboxMetrics;
+    private final OutboxFailureHandler failureHandler;
+    private final OutboxCompletion outboxCompletion;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.outbox.log-tailing.slot-name:order_service_outbox}")
+    private String slotName;
+
+    @Value("${app.outbox.log-tailing.publication:outbox_events_publication}")
+    private String publicationName;
+
+    @Value("${app.outbox.log-tailing.idle-wait:10}")
+    private long idleWaitMs;
+
+    @Value("${app.outbox.log-tailing.status-interval:10000}")
+    private int statusIntervalMs;
+
+    @Value("${app.outbox.log-tailing.reconnect-delay:5000}")
+    private long reconnectDelayMs;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    private volatile boolean running;
+    private volatile boolean streaming;
+    private Thread worker;
+
+    @Autowired
+    public OutboxLogTailingRelay(OutboxEventRepository outboxEventRepository,
+                                 OutboxRelayCheckpointRepository checkpointRepository,
+                                 OutboxEventPublisher outboxEventPublisher,
+                                 OutboxMetrics outboxMetrics,
+                                 OutboxFailureHandler failureHandler,
+                                 OutboxCompletion outboxCompletion,
+                                 DataSourceProperties dataSourceProperties,
+                                 JdbcTemplate jdbcTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.outboxMetrics = outboxMetrics;
+        this.failureHandler = failureHandler;
+        this.outboxCompletion = outboxCompletion;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "outbox-log-tailing-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * True while the replication stream is attached; the polling relay stands down meanwhile.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                streamChanges();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (running) {
+                    logger.error("Log-tailing outbox relay failed, polling relay takes over until reconnected", e);
+                }
+            } finally {
+                streaming = false;
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(reconnectDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void streamChanges() throws Exception {
+        // Held for as long as this instance streams; closing the connection releases it
+        try (Connection lockConnection = openConnection(false)) {
+            if (!tryLockSlot(lockConnection)) {
+                logger.debug("Replication slot {} is streamed by another instance", slotName);
+                return;
+            }
+            streamChangesWhileLocked();
+        }
+    }
+
+    private void streamChangesWhileLocked() throws Exception {
+        if (ensureReplicationSlot()) {
+            // Rows committed before the slot existed will never show up in the stream
+            backfillUnprocessedEvents();
+        }
+
+        try (Connection connection = openConnection(true)) {
+            LogSequenceNumber startLsn = checkpointRepository.findById(slotName)
+                    .map(checkpoint -> LogSequenceNumber.valueOf(checkpoint.getLsn()))
+                    .orElse(LogSequenceNumber.INVALID_LSN);
+
+            PGReplicationStream stream = connection.unwrap(PGConnection.class)
+                    .getReplicationAPI()
+                    .replicationStream()
+                    .logical()
+                    .withSlotName(slotName)
+                    .withStartPosition(startLsn)
+                    .withSlotOption("proto_version", 1)
+                    .withSlotOption("publication_names", publicationName)
+                    .withStatusInterval(statusIntervalMs, TimeUnit.MILLISECONDS)
+                    .start();
+
+            streaming = true;
+            logger.info("Streaming outbox events from replication slot {} starting at {}", slotName, startLsn);
+
+            PgOutputDecoder decoder = new PgOutputDecoder(OUTBOX_SCHEMA, OUTBOX_TABLE);
+            List<OutboxEvent> transactionEvents = new ArrayList<>();
+
+            while (running) {
+                ByteBuffer message = stream.readPending();
+                if (message == null) {
+                    TimeUnit.MILLISECONDS.sleep(idleWaitMs);
+                    continue;
+                }
+
+                PgOutputDecoder.Message decoded = decoder.decode(message);
+                if (decoded instanceof PgOutputDecoder.Insert insert) {
+                    transactionEvents.add(toOutboxEvent(insert.values()));
+                } else if (decoded instanceof PgOutputDecoder.Commit commit) {
+                    LogSequenceNumber commitLsn = LogSequenceNumber.valueOf(commit.endLsn());
+                    if (!transactionEvents.isEmpty()) {
+                        relayTransaction(transactionEvents);
+                        transactionEvents.clear();
+                        // Only persist when something was relayed; checkpointing every commit would
+                        // itself produce a commit to checkpoint.
+                        checkpointRepository.save(new OutboxRelayCheckpoint(slotName, commitLsn.asString()));
+                    }
+                    stream.setAppliedLSN(commitLsn);
+                    stream.setFlushedLSN(commitLsn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Relays the inserts of one streamed transaction that are still waiting for a relay. After
+     * an outage the slot replays everything since the last checkpoint, including rows the
+     * polling relay has completed or retried meanwhile; those are skipped, and the slot still
+     * advances past them.
+     */
+    void relayTransaction(List<OutboxEvent> events) {
+        Set<UUID> unattempted = outboxEventRepository.findUnattemptedIds(
+                events.stream().map(OutboxEvent::getId).toList());
+        List<OutboxEvent> pending = events.stream()
+                .filter(event -> unattempted.contains(event.getId()))
+                .toList();
+        if (pending.size() < events.size()) {
+            logger.debug("Skipping {} streamed outbox events already handled by the polling relay",
+                    events.size() - pending.size());
+        }
+        relayEvents(pending);
+    }
+
+    /**
+     * Publishes the events of one transaction. A failing event does not stall the stream: it
+     * backs off, and it and everything queued behind it for the same aggregate are left to the
+     * polling relay's retries.
+     */
+    private void relayEvents(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        outboxMetrics.recordBatch(events.size());
+        Set<String> blockedAggregates = new HashSet<>(outboxEventRepository.findAggregatesWithPendingRetries(
+                events.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet())));
+        List<UUID> published = new ArrayList<>(events.size());
+        List<UUID> deferred = new ArrayList<>();
+
+        for (OutboxEvent event : events) {
+            if (blockedAggregates.contains(event.getAggregateId())) {
+                deferred.add(event.getId());
+                continue;
+            }
+
+            try {
+                outboxEventPublisher.publish(event);
+                outboxMetrics.recordPublished(event);
+                published.add(event.getId());
+            } catch (Exception e) {
+                logger.error("Failed to publish event: {}", event.getId(), e);
+                outboxMetrics.recordFailure(event);
+                failureHandler.onFailure(event, e);
+                blockedAggregates.add(event.getAggregateId());
+            }
+        }
+
+        // Complete relayed rows so the polling fallback does not send them again
+        outboxCompletion.complete(published);
+        outboxEventRepository.defer(deferred);
+        logger.debug("Relayed {} outbox events from the replication stream", published.size());
+    }
+
+    private boolean ensureReplicationSlot() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_replication_slots WHERE slot_name = ?", Integer.class, slotName);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+
+        String lsn = jdbcTemplate.queryForObject(
+                "SELECT lsn::text FROM pg_create_logical_replication_slot(?, 'pgoutput')", String.class, slotName);
+        logger.info("Created logical replication slot {} at {}", slotName, lsn);
+        return true;
+    }
+
+    private void backfillUnprocessedEvents() {
+        List<OutboxEvent> events;
+        do {
+            // Events already waiting for a retry are left to the polling relay
+            events = outboxEventRepository.findUnattemptedEventsWithLimit(batchSize);
+            relayEvents(events);
+        } while (events.size() == batchSize);
+    }
+
+    private boolean tryLockSlot(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+            statement.setString(1, slotName);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private Connection openConnection(boolean replication) throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(properties, dataSourceProperties.determinePassword());
+        if (replication) {
+            PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+            PGProperty.REPLICATION.set(properties, "database");
+            PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+            PGProperty.OPTIONS.set(properties, "-c TimeZone=UTC");
+        }
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private OutboxEvent toOutboxEvent(Map<String, String> row) {
+        OutboxEvent event = new OutboxEvent(
+                row.get("aggregate_type"),
+                row.get("aggregate_id"),
+                row.get("event_type"),
+                row.get("payload"),
+                row.get("headers")
+        );
+        event.setPayloadAvro(parseBytea(row.get("payload_avro")));
+        event.setId(UUID.fromString(row.get("id")));
+        event.setCreatedAt(OffsetDateTime.parse(row.get("created_at"), PG_TIMESTAMPTZ).toInstant());
+        return event;
+    }
+
+    // pgoutput sends bytea in its text form: hex digits after a leading backslash-x
+    private static byte[] parseBytea(String value) {
+        if (value == null) {
+            return null;
+        }
+        return HexFormat.of().parseHex(value, 2, value.length());
+    }
+}
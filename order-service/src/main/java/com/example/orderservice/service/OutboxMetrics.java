@@ -0,0 +1,106 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation for the outbox relays, exported through the Prometheus actuator
+ * endpoint: backlog age, created-to-published latency, batch sizes, publish failures per
+ * event type and relay loop duration.
+ */
+@Component
+public class OutboxMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final OutboxEventRepository outboxEventRepository;
+    private final Timer publishLatency;
+    private final DistributionSummary batchSize;
+    private final Timer relayLoopDuration;
+
+    // Refreshed on a schedule so scrapes never hit the database
+    private volatile Instant oldestUnprocessedCreatedAt;
+
+    @Autowired
+    public OutboxMetrics(MeterRegistry meterRegistry, OutboxEventRepository outboxEventRepository) {
+        this.meterRegistry = meterRegistry;
+        this.outboxEventRepository = outboxEventRepository;
+
+        Gauge.builder("outbox.oldest.unprocessed.age", this, OutboxMetrics::oldestUnprocessedAgeSeconds)
+                .description("Age of the oldest outbox event not yet published")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.publishLatency = Timer.builder("outbox.publish.latency")
+                .description("Time from outbox event creation to broker acknowledgement")
+                .register(meterRegistry);
+
+        this.batchSize = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Number of outbox events relayed per batch")
+                .baseUnit("events")
+                .register(meterRegistry);
+
+        this.relayLoopDuration = Timer.builder("outbox.relay.loop.duration")
+                .description("Duration of one polling relay pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.metrics.refresh-interval:10000}")
+    public void refreshBacklogAge() {
+        try {
+            // MIN over the partial index on unprocessed rows, not a COUNT(*)
+            oldestUnprocessedCreatedAt = outboxEventRepository.findOldestUnprocessedCreatedAt();
+        } catch (Exception e) {
+            logger.warn("Could not refresh outbox backlog age", e);
+        }
+    }
+
+    public void recordPublished(OutboxEvent event) {
+        if (event.getCreatedAt() != null) {
+            publishLatency.record(Duration.between(event.getCreatedAt(), Instant.now()));
+        }
+    }
+
+    public void recordFailure(OutboxEvent event) {
+        Counter.builder("outbox.publish.failures")
+                .description("Outbox events whose publication failed")
+                .tag("event_type", event.getEventType())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordBatch(int size) {
+        batchSize.record(size);
+    }
+
+    public Timer.Sample startRelayLoop() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopRelayLoop(Timer.Sample sample) {
+        sample.stop(relayLoopDuration);
+    }
+
+    private double oldestUnprocessedAgeSeconds() {
+        Instant oldest = oldestUnprocessedCreatedAt;
+        if (oldest == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(oldest, Instant.now()).toMillis()) / (double) TimeUnit.SECONDS.toMillis(1);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.orderservice.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.PGProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wakes {@link OutboxRelay} when new outbox events are committed. An insert trigger on
+ * {@code outbox_events} sends a NOTIFY; this listener holds a dedicated connection that
+ * LISTENs on the channel and drains the outbox as soon as a notification arrives.
+ * <p>
+ * Notifications are only a hint: the relay still reads the table, so a missed or coalesced
+ * notification costs latency, never events. While the listener is disconnected the relay
+ * falls back to its regular polling interval.
+ */
+@Service
+@ConditionalOnProperty(name = "app.outbox.notify.enabled", havingValue = "true")
+public class OutboxNotificationListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxNotificationListener.class);
+
+    // Fixed by the pg_notify call in V5__notify_outbox_events.sql
+    static final String CHANNEL = "outbox_events";
+
+    private final OutboxRelay outboxRelay;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${app.outbox.notify.poll-timeout:1000}")
+    private int pollTimeoutMs;
+
+    @Value("${app.outbox.notify.reconnect-delay:5000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread worker;
+
+    @Autowired
+    public OutboxNotificationListener(OutboxRelay outboxRelay, DataSourceProperties dataSourceProperties) {
+        this.outboxRelay = outboxRelay;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "outbox-notification-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * True while LISTEN is active; the relay then stretches its polling to the fallback interval.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                listen();
+            } catch (Exception e) {
+                if (running) {
+                    logger.error("Outbox notification listener failed, relay falls back to polling until reconnected", e);
+                }
+            } finally {
+                listening = false;
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(reconnectDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void listen() throws SQLException {
+        try (Connection connection = openConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(listenStatement(CHANNEL));
+            }
+
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            listening = true;
+            logger.info("Listening for outbox notifications on channel {}", CHANNEL);
+
+            // Catch up on anything committed while no one was listening
+            outboxRelay.drain();
+
+            while (running) {
+                PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                if (notifications != null && notifications.length > 0) {
+                    // However many arrived, one drain covers them all
+                    outboxRelay.drain();
+                }
+            }
+        }
+    }
+
+    // Quoted so the channel name is matched exactly, as pg_notify does, rather than case-folded
+    static String listenStatement(String channel) {
+        return "LISTEN \"" + channel.replace("\"", "\"\"") + "\"";
+    }
+
+    private Connection openConnection() throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(properties, dataSourceProperties.determinePassword());
+        PGProperty.APPLICATION_NAME.set(properties, "order-service-outbox-listener");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.orderservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Maintains the daily partitions of {@code outbox_events} and {@code outbox_events_archive}:
+ * creates the next few days ahead of time and drops partitions that have aged out of the
+ * retention window. Dropping a partition is a metadata operation, however many rows it holds,
+ * so retention no longer costs one DELETE per event.
+ * <p>
+ * A partition is only dropped once it has no unprocessed events left; anything the relay has
+ * not published yet is kept until it has been. The drop locks the parent before the partition,
+ * the order every query through the parent takes them in, and gives up after
+ * {@code lock-timeout} rather than queueing the relay behind it; the next run tries again.
+ * ({@code DETACH PARTITION CONCURRENTLY} is not an option: both tables have a default partition.)
+ */
+@Service
+public class OutboxPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxPartitionManager.class);
+
+    private static final String OUTBOX_TABLE = "outbox_events";
+    private static final String ARCHIVE_TABLE = "outbox_events_archive";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.outbox.partitions.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.outbox.partitions.premake-days:3}")
+    private int premakeDays;
+
+    @Value("${app.outbox.archive.retention-days:30}")
+    private int archiveRetentionDays;
+
+    @Value("${app.outbox.partitions.lock-timeout:5000}")
+    private long lockTimeoutMs;
+
+    @Autowired
+    public OutboxPartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.outbox.partitions.maintenance-cron:0 0 2 * * ?}") // Daily at 2 AM
+    public void maintainPartitions() {
+        maintainPartitions(OUTBOX_TABLE, retentionDays);
+        maintainPartitions(ARCHIVE_TABLE, archiveRetentionDays);
+    }
+
+    private void maintainPartitions(String parentTable, int retentionDays) {
+        try {
+            createUpcomingPartitions(parentTable);
+            dropExpiredPartitions(parentTable, retentionDays);
+            purgeDefaultPartition(parentTable, retentionDays);
+        } catch (Exception e) {
+            logger.error("Error during {} partition maintenance", parentTable, e);
+        }
+    }
+
+    private void createUpcomingPartitions(String parentTable) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int i = 0; i <= premakeDays; i++) {
+            LocalDate day = today.plusDays(i);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionPrefix(parentTable) + day.format(PARTITION_SUFFIX), parentTable,
+                    day.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                    day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+    }
+
+    private void dropExpiredPartitions(String parentTable, int retentionDays) {
+        LocalDate oldestKept = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+        String prefix = partitionPrefix(parentTable);
+
+        for (String partition : listPartitions(parentTable)) {
+            if (!partition.startsWith(prefix)) {
+                continue;
+            }
+            LocalDate day = LocalDate.parse(partition.substring(prefix.length()), PARTITION_SUFFIX);
+            if (!day.isBefore(oldestKept)) {
+                continue;
+            }
+
+            Boolean dropped;
+            try {
+                dropped = transactionTemplate.execute(status -> {
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+                    // Parent first: DROP needs it anyway, and taking it after the partition could
+                    // deadlock with relay statements that lock the parent and then the partition
+                    jdbcTemplate.execute("LOCK TABLE ONLY " + parentTable + " IN ACCESS EXCLUSIVE MODE");
+                    jdbcTemplate.execute("LOCK TABLE " + partition + " IN ACCESS EXCLUSIVE MODE");
+                    Boolean pending = jdbcTemplate.queryForObject(
+                            "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE processed_at IS NULL)", Boolean.class);
+                    if (Boolean.TRUE.equals(pending)) {
+                        return false;
+                    }
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    return true;
+                });
+            } catch (DataAccessException e) {
+                logger.warn("Could not lock expired {} partition {}, retrying on the next run: {}",
+                        parentTable, partition, e.getMessage());
+                continue;
+            }
+
+            if (Boolean.TRUE.equals(dropped)) {
+                logger.info("Dropped expired {} partition {}", parentTable, partition);
+            } else {
+                logger.warn("Keeping expired {} partition {}: it still has unprocessed events", parentTable, partition);
+            }
+        }
+    }
+
+    private void purgeDefaultPartition(String parentTable, int retentionDays) {
+        // Only rows that fell outside every daily partition end up here, so this stays small
+        Instant cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays).atStartOfDay(ZoneOffset.UTC).toInstant();
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM " + parentTable + "_default WHERE processed_at IS NOT NULL AND created_at < ?",
+                Timestamp.from(cutoff));
+        if (deleted > 0) {
+            logger.info("Cleaned up {} old processed events from the {} default partition", deleted, parentTable);
+        }
+    }
+
+    private static String partitionPrefix(String parentTable) {
+        return parentTable + "_p";
+    }
+
+    private List<String> listPartitions(String parentTable) {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                WHERE parent.relname = ?
+                ORDER BY child.relname
+                """, String.class, parentTable);
+    }
+}
@@ -2,137 +2,331 @@ package com.example.orderservice.service;
 
 import com.example.orderservice.entity.OutboxEvent;
 import com.example.orderservice.repository.OutboxEventRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.common.header.internals.RecordHeader;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 
 @Service
-public class OutboxRelay {
+public class OutboxRelay implements SchedulingConfigurer {
 
     private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String PUBLISH_MODE_PIPELINED = "pipelined";
 
     private final OutboxEventRepository outboxEventRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final OutboxMetrics outboxMetrics;
+    private final OutboxRelayPacing pacing;
+    private final OutboxFailureHandler failureHandler;
+    private final OutboxCompletion outboxCompletion;
+    private final ObjectProvider<OutboxLogTailingRelay> logTailingRelay;
+    private final ObjectProvider<OutboxNotificationListener> notificationListener;
+    private final TransactionTemplate transactionTemplate;
 
-    @Value("${app.topics.order-events}")
-    private String orderEventsTopic;
+    @Value("${app.outbox.publish-mode:sync}")
+    private String publishMode;
 
-    @Value("${app.outbox.batch-size:100}")
-    private int batchSize;
+    @Value("${app.outbox.max-in-flight:50}")
+    private int maxInFlight;
+
+    @Value("${app.outbox.shards-per-claim:4}")
+    private int shardsPerClaim;
+
+    @Value("${app.outbox.fast-path.enabled:false}")
+    private boolean fastPathEnabled;
+
+    @Value("${app.outbox.fast-path.poller-grace:10000}")
+    private long fastPathPollerGraceMs;
+
+    @Value("${app.outbox.notify.fallback-interval:60000}")
+    private long notifyFallbackIntervalMs;
+
+    private volatile int shardCount;
+    private volatile long lastPassStartedAt;
 
     @Autowired
     public OutboxRelay(OutboxEventRepository outboxEventRepository,
-                      KafkaTemplate<String, Object> kafkaTemplate,
-                      ObjectMapper objectMapper) {
+                      OutboxEventPublisher outboxEventPublisher,
+                      OutboxMetrics outboxMetrics,
+                      OutboxRelayPacing pacing,
+                      OutboxFailureHandler failureHandler,
+                      OutboxCompletion outboxCompletion,
+                      ObjectProvider<OutboxLogTailingRelay> logTailingRelay,
+                      ObjectProvider<OutboxNotificationListener> notificationListener,
+                      TransactionTemplate transactionTemplate) {
         this.outboxEventRepository = outboxEventRepository;
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.outboxMetrics = outboxMetrics;
+        this.pacing = pacing;
+        this.failureHandler = failureHandler;
+        this.outboxCompletion = outboxCompletion;
+        this.logTailingRelay = logTailingRelay;
+        this.notificationListener = notificationListener;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Schedules {@link #relayEvents()} with the delay chosen by {@link OutboxRelayPacing} after
+     * each run, instead of a fixed delay.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addTriggerTask(this::relayEvents, context -> {
+            Instant lastCompletion = context.lastCompletion();
+            return lastCompletion == null ? Instant.now() : lastCompletion.plus(pacing.nextDelay());
+        });
     }
 
-    @Scheduled(fixedDelayString = "${app.outbox.polling-interval:5000}")
-    @Transactional
     public void relayEvents() {
+        // While the replication stream relays new events, polling only retries the ones it failed
+        boolean retriesOnly = isLogTailingActive();
+
+        if (!retriesOnly && isNotificationWakeUpActive()
+                && System.currentTimeMillis() - lastPassStartedAt < notifyFallbackIntervalMs) {
+            // Inserts wake the relay through NOTIFY; polling only bounds the worst-case latency
+            return;
+        }
+
         try {
-            List<OutboxEvent> unprocessedEvents = outboxEventRepository.findUnprocessedEventsWithLimit(batchSize);
+            relayPass(retriesOnly);
+        } catch (Exception e) {
+            logger.error("Error during outbox relay processing", e);
+        }
+    }
 
-            if (unprocessedEvents.isEmpty()) {
-                return;
-            }
+    /**
+     * Relays until no claimed shard comes back with a full batch. Called when a NOTIFY signals
+     * new rows, so a burst is emptied without waiting for the polling interval.
+     */
+    public void drain() {
+        if (isLogTailingActive()) {
+            return;
+        }
 
-            logger.info("Processing {} outbox events", unprocessedEvents.size());
+        try {
+            while (relayPass(false)) {
+                logger.debug("Outbox backlog remaining, relaying next pass");
+            }
+        } catch (Exception e) {
+            logger.error("Error during outbox relay processing", e);
+        }
+    }
 
-            for (OutboxEvent event : unprocessedEvents) {
-                try {
-                    publishEvent(event);
-                    event.markAsProcessed();
-                    outboxEventRepository.save(event);
+    /**
+     * Relays in rounds, each in its own transaction: claim a few unlocked shards, relay their
+     * oldest unprocessed events, commit (releasing the shards). Replicas running concurrently
+     * claim disjoint shards, so they work in parallel without publishing the same rows, and all
+     * events of an aggregate are always relayed by whichever single relay holds its shard.
+     *
+     * @return whether any shard returned a full batch, i.e. more events are likely waiting
+     */
+    private boolean relayPass(boolean retriesOnly) {
+        lastPassStartedAt = System.currentTimeMillis();
+        Timer.Sample loop = outboxMetrics.startRelayLoop();
+        try {
+            if (shardCount == 0) {
+                shardCount = outboxEventRepository.countShards();
+            }
 
-                    logger.debug("Successfully published and marked event as processed: {}", event.getId());
+            int limit = pacing.batchSize();
+            int relayedTotal = 0;
+            boolean backlogRemaining = false;
 
-                } catch (Exception e) {
-                    logger.error("Failed to publish event: {}", event.getId(), e);
-                    // Continue with next event, will retry on next scheduled run
+            // Enough rounds to visit every shard once when no other replica is competing
+            int rounds = Math.max(1, (shardCount + shardsPerClaim - 1) / shardsPerClaim);
+            for (int round = 0; round < rounds; round++) {
+                Integer relayed = transactionTemplate.execute(status -> relayClaimedShards(limit, retriesOnly));
+                if (relayed == null || relayed < 0) {
+                    break;
                 }
+                relayedTotal += relayed;
+                backlogRemaining |= relayed >= limit;
             }
 
-            logger.info("Completed processing outbox events batch");
+            pacing.onPass(relayedTotal, backlogRemaining);
+            return backlogRemaining;
+        } finally {
+            outboxMetrics.stopRelayLoop(loop);
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Error during outbox relay processing", e);
+    /**
+     * @return the number of events fetched from the claimed shards, or -1 if no shard could be claimed
+     */
+    private int relayClaimedShards(int limit, boolean retriesOnly) {
+        List<Short> shards = outboxEventRepository.claimShards(shardsPerClaim);
+        if (shards.isEmpty()) {
+            // Every shard is currently held by another relay
+            return -1;
+        }
+
+        // Leave freshly committed events to the fast path while it is still handling them
+        Instant now = Instant.now();
+        Instant createdBefore = now.minusMillis(fastPathEnabled ? fastPathPollerGraceMs : 0);
+        List<OutboxEvent> unprocessedEvents =
+                outboxEventRepository.findDueEventsInShards(shards, createdBefore, now, retriesOnly, limit);
+        if (unprocessedEvents.isEmpty()) {
+            return 0;
+        }
+
+        logger.info("Processing {} outbox events from shards {}", unprocessedEvents.size(), shards);
+        outboxMetrics.recordBatch(unprocessedEvents.size());
+
+        if (PUBLISH_MODE_PIPELINED.equals(publishMode)) {
+            try {
+                relayPipelined(unprocessedEvents);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while relaying outbox events from shards {}", shards);
+                return -1;
+            }
+        } else {
+            relaySequentially(unprocessedEvents);
         }
+
+        logger.info("Completed processing outbox events batch");
+        return unprocessedEvents.size();
     }
 
-    private void publishEvent(OutboxEvent event) throws Exception {
-        String topic = determineTopicForEvent(event);
-        String key = event.getAggregateId();
+    private void relaySequentially(List<OutboxEvent> events) {
+        Set<String> failedAggregates = new HashSet<>();
+        List<UUID> deferred = new ArrayList<>();
 
-        // Parse the payload - for OrderCreated events, we need to convert to Avro
-        Object payload = parseEventPayload(event);
+        for (OutboxEvent event : events) {
+            if (failedAggregates.contains(event.getAggregateId())) {
+                // Stays behind the failed event of its aggregate
+                deferred.add(event.getId());
+                continue;
+            }
 
-        // Create producer record
-        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, payload);
+            try {
+                long sentAt = System.nanoTime();
+                outboxEventPublisher.publish(event);
+                pacing.recordSendLatency(System.nanoTime() - sentAt);
+                outboxMetrics.recordPublished(event);
+                outboxCompletion.complete(List.of(event.getId()));
 
-        // Add headers
-        if (event.getHeaders() != null) {
-            Map<String, String> headers = objectMapper.readValue(
-                event.getHeaders(),
-                new TypeReference<Map<String, String>>() {}
-            );
+                logger.debug("Successfully published and completed event: {}", event.getId());
 
-            headers.forEach((headerKey, headerValue) ->
-                record.headers().add(new RecordHeader(headerKey, headerValue.getBytes()))
-            );
+            } catch (Exception e) {
+                logger.error("Failed to publish event: {}", event.getId(), e);
+                outboxMetrics.recordFailure(event);
+                failureHandler.onFailure(event, e);
+                failedAggregates.add(event.getAggregateId());
+                // Continue with next event, will retry after its backoff
+            }
         }
 
-        // Add outbox metadata headers
-        record.headers().add(new RecordHeader("outbox-event-id", event.getId().toString().getBytes()));
-        record.headers().add(new RecordHeader("outbox-event-type", event.getEventType().getBytes()));
-        record.headers().add(new RecordHeader("outbox-created-at", event.getCreatedAt().toString().getBytes()));
+        outboxEventRepository.defer(deferred);
+    }
 
-        // Send to Kafka
-        kafkaTemplate.send(record).get(); // Synchronous send for reliability
+    /**
+     * Sends the whole batch with at most {@code max-in-flight} unacknowledged records, then
+     * completes every acknowledged event with one bulk statement. The batch goes out in rounds,
+     * the n-th round holding the n-th event of each aggregate, so an aggregate never has more
+     * than one record in flight: a later event is only sent once the one before it is
+     * acknowledged. After a failure the rest of that aggregate's events are deferred unsent, and
+     * nothing acknowledged is ever sent again.
+     *
+     * @return the aggregates that still have unacknowledged events from this batch
+     */
+    Set<String> relayPipelined(List<OutboxEvent> events) throws InterruptedException {
+        Semaphore window = new Semaphore(maxInFlight);
+        Set<String> failedAggregates = new HashSet<>();
+        List<UUID> acknowledged = new ArrayList<>(events.size());
+        List<UUID> deferred = new ArrayList<>();
 
-        logger.debug("Published event {} to topic {} with key {}",
-            event.getId(), topic, key);
-    }
+        for (List<OutboxEvent> round : rounds(events)) {
+            Map<OutboxEvent, CompletableFuture<?>> inFlight = new LinkedHashMap<>();
+            for (OutboxEvent event : round) {
+                if (failedAggregates.contains(event.getAggregateId())) {
+                    deferred.add(event.getId());
+                    continue;
+                }
+
+                window.acquire();
+                try {
+                    long sentAt = System.nanoTime();
+                    CompletableFuture<?> future = outboxEventPublisher.send(event)
+                            .whenComplete((result, failure) -> {
+                                window.release();
+                                pacing.recordSendLatency(System.nanoTime() - sentAt);
+                                if (failure != null) {
+                                    outboxMetrics.recordFailure(event);
+                                } else {
+                                    outboxMetrics.recordPublished(event);
+                                }
+                            });
+                    inFlight.put(event, future);
+                } catch (Exception e) {
+                    window.release();
+                    failedAggregates.add(event.getAggregateId());
+                    outboxMetrics.recordFailure(event);
+                    failureHandler.onFailure(event, e);
+                    logger.error("Failed to publish event: {}", event.getId(), e);
+                }
+            }
+
+            for (Map.Entry<OutboxEvent, CompletableFuture<?>> entry : inFlight.entrySet()) {
+                OutboxEvent event = entry.getKey();
+                try {
+                    entry.getValue().get();
+                    acknowledged.add(event.getId());
+                } catch (ExecutionException e) {
+                    logger.error("Failed to publish event: {}", event.getId(), e.getCause());
+                    failedAggregates.add(event.getAggregateId());
+                    failureHandler.onFailure(event, e.getCause());
+                }
+            }
+        }
 
-    private String determineTopicForEvent(OutboxEvent event) {
-        // Route events to appropriate topics based on event type
-        return switch (event.getEventType()) {
-            case "OrderCreated", "OrderStatusChanged" -> orderEventsTopic;
-            default -> orderEventsTopic; // Default fallback
-        };
+        outboxCompletion.complete(acknowledged);
+        outboxEventRepository.defer(deferred);
+        logger.debug("Pipelined relay acknowledged {} of {} events", acknowledged.size(), events.size());
+        return failedAggregates;
     }
 
-    private Object parseEventPayload(OutboxEvent event) throws Exception {
-        if ("OrderCreated".equals(event.getEventType())) {
-            // For OrderCreated events, convert JSON payload to Avro format
-            Map<String, Object> jsonPayload = objectMapper.readValue(
-                event.getPayload(),
-                new TypeReference<Map<String, Object>>() {}
-            );
-
-            // Create Avro OrderCreated object manually since we have dependency issues
-            // For now, return the JSON payload - can be enhanced later for proper Avro
-            return jsonPayload;
-        } else {
-            // For other events, parse as JSON
-            return objectMapper.readValue(event.getPayload(), Object.class);
+    // Splits the batch so that each round holds at most one event per aggregate, in creation order
+    private static List<List<OutboxEvent>> rounds(List<OutboxEvent> events) {
+        Map<String, Integer> seen = new HashMap<>();
+        List<List<OutboxEvent>> rounds = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            int round = seen.merge(event.getAggregateId(), 1, Integer::sum) - 1;
+            if (round == rounds.size()) {
+                rounds.add(new ArrayList<>());
+            }
+            rounds.get(round).add(event);
         }
+        return rounds;
+    }
+
+    private boolean isLogTailingActive() {
+        OutboxLogTailingRelay relay = logTailingRelay.getIfAvailable();
+        return relay != null && relay.isStreaming();
+    }
+
+    private boolean isNotificationWakeUpActive() {
+        OutboxNotificationListener listener = notificationListener.getIfAvailable();
+        return listener != null && listener.isListening();
     }
 
     // Manual trigger for testing/debugging
@@ -145,21 +339,4 @@ public class OutboxRelay {
     public long getUnprocessedEventCount() {
         return outboxEventRepository.countUnprocessedEvents();
     }
-
-    // Cleanup old processed events (can be scheduled separately)
-    @Scheduled(cron = "0 0 2 * * ?") // Daily at 2 AM
-    @Transactional
-    public void cleanupOldProcessedEvents() {
-        try {
-            Instant cutoff = Instant.now().minusSeconds(7 * 24 * 60 * 60); // 7 days ago
-            List<OutboxEvent> oldEvents = outboxEventRepository.findProcessedEventsBefore(cutoff);
-
-            if (!oldEvents.isEmpty()) {
-                outboxEventRepository.deleteAll(oldEvents);
-                logger.info("Cleaned up {} old processed outbox events", oldEvents.size());
-            }
-        } catch (Exception e) {
-            logger.error("Error during outbox cleanup", e);
-        }
-    }
 }
@@ -0,0 +1,95 @@
+package com.example.orderservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Adapts the polling relay's batch size and delay to what the last pass found. A full batch
+ * means a backlog: re-poll immediately with a larger batch. An empty pass means the outbox is
+ * idle: back off exponentially up to the polling interval. A send latency above the target
+ * shrinks the batch again, so a slow broker does not hold shard locks for whole large batches.
+ * <p>
+ * Disabled, it keeps the fixed {@code batch-size} and {@code polling-interval}.
+ */
+@Component
+public class OutboxRelayPacing {
+
+    // Weight of the newest sample in the send latency moving average
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final boolean enabled;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final long targetSendLatencyMs;
+
+    private int batchSize;
+    private long delayMs;
+    private double sendLatencyMs;
+
+    @Autowired
+    public OutboxRelayPacing(@Value("${app.outbox.adaptive.enabled:false}") boolean enabled,
+                             @Value("${app.outbox.batch-size:100}") int minBatchSize,
+                             @Value("${app.outbox.adaptive.max-batch-size:1000}") int maxBatchSize,
+                             @Value("${app.outbox.adaptive.min-interval:250}") long minIntervalMs,
+                             @Value("${app.outbox.polling-interval:5000}") long maxIntervalMs,
+                             @Value("${app.outbox.adaptive.target-send-latency:200}") long targetSendLatencyMs) {
+        this.enabled = enabled;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = Math.max(minBatchSize, maxBatchSize);
+        this.minIntervalMs = Math.min(minIntervalMs, maxIntervalMs);
+        this.maxIntervalMs = maxIntervalMs;
+        this.targetSendLatencyMs = targetSendLatencyMs;
+        this.batchSize = minBatchSize;
+        this.delayMs = enabled ? this.minIntervalMs : maxIntervalMs;
+    }
+
+    public synchronized int batchSize() {
+        return batchSize;
+    }
+
+    public synchronized Duration nextDelay() {
+        return Duration.ofMillis(delayMs);
+    }
+
+    public synchronized double sendLatencyMs() {
+        return sendLatencyMs;
+    }
+
+    /**
+     * Feed back the outcome of one relay pass.
+     *
+     * @param relayed number of events the pass relayed
+     * @param full    whether some shard returned a full batch, i.e. more events are waiting
+     */
+    public synchronized void onPass(int relayed, boolean full) {
+        if (!enabled) {
+            return;
+        }
+
+        if (full) {
+            batchSize = (int) Math.min(maxBatchSize, (long) batchSize * 2);
+            delayMs = 0;
+        } else if (relayed == 0) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+            delayMs = delayMs == 0 ? minIntervalMs : Math.min(maxIntervalMs, delayMs * 2);
+        } else {
+            delayMs = minIntervalMs;
+        }
+
+        if (sendLatencyMs > targetSendLatencyMs) {
+            batchSize = Math.max(minBatchSize, (int) (batchSize * targetSendLatencyMs / sendLatencyMs));
+        }
+    }
+
+    public synchronized void recordSendLatency(long nanos) {
+        double millis = nanos / 1_000_000.0;
+        sendLatencyMs = sendLatencyMs == 0
+                ? millis
+                : LATENCY_SMOOTHING * millis + (1 - LATENCY_SMOOTHING) * sendLatencyMs;
+    }
+}
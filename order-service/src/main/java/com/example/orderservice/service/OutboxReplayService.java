@@ -0,0 +1,306 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OutboxReplayRequest;
+import com.example.orderservice.dto.OutboxReplayStatus;
+import com.example.orderservice.entity.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Re-publishes outbox history after a downstream incident. Matching rows are read in keyset
+ * pages of {@code page-size} rows ordered by {@code (created_at, id)}, each in its own short
+ * read-only transaction, so memory stays constant however large the range and no snapshot is
+ * held while the page is sent: a replay running for hours neither holds back vacuum nor keeps
+ * the partitions locked against {@link OutboxPartitionManager}. Rows are sent at no more than
+ * the requested rate with a bounded number of unacknowledged records.
+ * <p>
+ * Replays run in the background; their progress and throughput are kept in memory until the
+ * service restarts. Replayed records carry their original {@code outbox-event-id} header, so
+ * consumers that de-duplicate on it are unaffected.
+ */
+@Service
+public class OutboxReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxReplayService.class);
+
+    private static final String SELECT_COLUMNS =
+            "id, aggregate_type, aggregate_id, event_type, payload, payload_avro, headers, created_at";
+
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int pageSize;
+    private final Map<UUID, ReplayJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    @Value("${app.outbox.replay.default-rate:200}")
+    private int defaultRate;
+
+    @Value("${app.outbox.replay.max-rate:2000}")
+    private int maxRate;
+
+    @Value("${app.outbox.replay.max-in-flight:50}")
+    private int maxInFlight;
+
+    @Value("${app.outbox.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Autowired
+    public OutboxReplayService(OutboxEventPublisher outboxEventPublisher,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.outbox.replay.page-size:500}") int pageSize,
+                               @Value("${app.outbox.replay.max-concurrent-jobs:1}") int maxConcurrentJobs) {
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pageSize = pageSize;
+
+        this.executor = Executors.newFixedThreadPool(maxConcurrentJobs, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public OutboxReplayStatus startReplay(OutboxReplayRequest request) {
+        if (!request.getFrom().isBefore(request.getTo())) {
+            throw new IllegalArgumentException("Replay range must end after it starts");
+        }
+
+        int rate = Math.min(maxRate, request.getEventsPerSecond() != null ? request.getEventsPerSecond() : defaultRate);
+        ReplayJob job = new ReplayJob(UUID.randomUUID(), request, rate);
+        jobs.put(job.id, job);
+        executor.submit(() -> run(job));
+
+        logger.info("Queued outbox replay {} for {} at up to {} events/s", job.id, request, rate);
+        return job.toStatus();
+    }
+
+    public Optional<OutboxReplayStatus> getReplay(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ReplayJob::toStatus);
+    }
+
+    public List<OutboxReplayStatus> getReplays() {
+        return jobs.values().stream().map(ReplayJob::toStatus).toList();
+    }
+
+    public Optional<OutboxReplayStatus> cancelReplay(UUID jobId) {
+        ReplayJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelled = true;
+        return Optional.of(job.toStatus());
+    }
+
+    private void run(ReplayJob job) {
+        job.start();
+        Semaphore window = new Semaphore(maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / job.rate;
+
+        try {
+            OutboxEvent last = null;
+            List<OutboxEvent> page;
+            do {
+                page = readPage(job.request, last);
+                for (OutboxEvent event : page) {
+                    if (job.cancelled || Thread.currentThread().isInterrupted()) {
+                        throw new ReplayCancelledException();
+                    }
+                    job.read.incrementAndGet();
+                    job.lastEventCreatedAt.set(event.getCreatedAt());
+
+                    pace(job, intervalNanos);
+                    window.acquire();
+                    send(job, event, window);
+                }
+                if (!page.isEmpty()) {
+                    last = page.get(page.size() - 1);
+                }
+            } while (page.size() == pageSize);
+
+            // Wait for the last acknowledgements before reporting completion
+            window.acquire(maxInFlight);
+            job.finish(ReplayState.COMPLETED, null);
+
+        } catch (ReplayCancelledException e) {
+            job.finish(ReplayState.CANCELLED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(ReplayState.CANCELLED, null);
+        } catch (Exception e) {
+            logger.error("Outbox replay {} failed", job.id, e);
+            job.finish(ReplayState.FAILED, e.getMessage());
+        }
+
+        logger.info("Outbox replay {} {}: read {}, published {}, failed {}",
+                job.id, job.state, job.read.get(), job.published.get(), job.failed.get());
+    }
+
+    // One short read-only transaction per page; nothing is held open while the page is sent
+    private List<OutboxEvent> readPage(OutboxReplayRequest request, OutboxEvent after) {
+        List<Object> params = new ArrayList<>();
+        String sql = buildQuery(request, after, params);
+        return readOnlyTransaction.execute(status -> jdbcTemplate.query(
+                sql, new ArgumentPreparedStatementSetter(params.toArray()), (rs, rowNum) -> mapEvent(rs)));
+    }
+
+    private void send(ReplayJob job, OutboxEvent event, Semaphore window) {
+        try {
+            outboxEventPublisher.send(event).whenComplete((result, failure) -> {
+                window.release();
+                if (failure != null) {
+                    job.failed.incrementAndGet();
+                    logger.warn("Replay {} failed to publish event {}", job.id, event.getId(), failure);
+                } else {
+                    job.published.incrementAndGet();
+                }
+            });
+        } catch (Exception e) {
+            window.release();
+            job.failed.incrementAndGet();
+            logger.warn("Replay {} failed to publish event {}", job.id, event.getId(), e);
+        }
+    }
+
+    private void pace(ReplayJob job, long intervalNanos) throws InterruptedException {
+        long waitNanos = job.nextSendAt - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        // Never bank more than one interval of credit after a slow stretch
+        job.nextSendAt = Math.max(job.nextSendAt, System.nanoTime() - intervalNanos) + intervalNanos;
+    }
+
+    private String buildQuery(OutboxReplayRequest request, OutboxEvent after, List<Object> params) {
+        String outbox = selectFrom("outbox_events", request, after, params);
+        String order = " ORDER BY created_at, id LIMIT " + pageSize;
+        if (!archiveEnabled) {
+            return outbox + order;
+        }
+        // Published rows live in the archive when the relay deletes on acknowledgement
+        String archive = selectFrom("outbox_events_archive", request, after, params);
+        return outbox + " UNION ALL " + archive + order;
+    }
+
+    private static String selectFrom(String table, OutboxReplayRequest request, OutboxEvent after,
+                                     Collection<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(SELECT_COLUMNS).append(" FROM ").append(table)
+                .append(" WHERE created_at >= ? AND created_at < ?");
+        params.add(Timestamp.from(request.getFrom()));
+        params.add(Timestamp.from(request.getTo()));
+
+        if (after != null) {
+            // Keyset: resume right after the last row of the previous page
+            sql.append(" AND (created_at, id) > (?, ?)");
+            params.add(Timestamp.from(after.getCreatedAt()));
+            params.add(after.getId());
+        }
+
+        if (request.getAggregateId() != null) {
+            sql.append(" AND aggregate_id = ?");
+            params.add(request.getAggregateId());
+        }
+        if (request.getEventType() != null) {
+            sql.append(" AND event_type = ?");
+            params.add(request.getEventType());
+        }
+        return sql.toString();
+    }
+
+    private static OutboxEvent mapEvent(ResultSet rs) throws SQLException {
+        OutboxEvent event = new OutboxEvent(
+                rs.getString("aggregate_type"),
+                rs.getString("aggregate_id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getString("headers")
+        );
+        event.setId(rs.getObject("id", UUID.class));
+        event.setPayloadAvro(rs.getBytes("payload_avro"));
+        event.setCreatedAt(rs.getTimestamp("created_at").toInstant());
+        return event;
+    }
+
+    private enum ReplayState {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private static class ReplayCancelledException extends RuntimeException {
+    }
+
+    private static class ReplayJob {
+        private final UUID id;
+        private final OutboxReplayRequest request;
+        private final int rate;
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong published = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicReference<Instant> lastEventCreatedAt = new AtomicReference<>();
+        private volatile ReplayState state = ReplayState.QUEUED;
+        private volatile boolean cancelled;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+        private long nextSendAt;
+
+        private ReplayJob(UUID id, OutboxReplayRequest request, int rate) {
+            this.id = id;
+            this.request = request;
+            this.rate = rate;
+        }
+
+        private void start() {
+            startedAt = Instant.now();
+            nextSendAt = System.nanoTime();
+            state = ReplayState.RUNNING;
+        }
+
+        private void finish(ReplayState finalState, String failure) {
+            finishedAt = Instant.now();
+            error = failure;
+            state = finalState;
+        }
+
+        private OutboxReplayStatus toStatus() {
+            double throughput = 0;
+            if (startedAt != null) {
+                Instant end = finishedAt != null ? finishedAt : Instant.now();
+                long elapsedMillis = Duration.between(startedAt, end).toMillis();
+                if (elapsedMillis > 0) {
+                    throughput = published.get() * 1000.0 / elapsedMillis;
+                }
+            }
+            return new OutboxReplayStatus(id, state.name(), request, rate, read.get(), published.get(),
+                    failed.get(), throughput, lastEventCreatedAt.get(), startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.orderservice.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal decoder for the pgoutput logical replication protocol (version 1).
+ * Only the messages needed to follow inserts on a single table are interpreted:
+ * Begin, Relation, Insert and Commit. Everything else is skipped.
+ */
+class PgOutputDecoder {
+
+    private final String schemaName;
+    private final String tableName;
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    PgOutputDecoder(String schemaName, String tableName) {
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+    }
+
+    /**
+     * Decode one replication message.
+     *
+     * @return an insert into the watched table, a commit marker, or {@code null} for anything else
+     */
+    Message decode(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        return switch (type) {
+            case 'R' -> {
+                readRelation(buffer);
+                yield null;
+            }
+            case 'I' -> readInsert(buffer);
+            case 'C' -> readCommit(buffer);
+            default -> null;
+        };
+    }
+
+    private void readRelation(ByteBuffer buffer) {
+        int relationId = buffer.getInt();
+        String namespace = readString(buffer);
+        String name = readString(buffer);
+        buffer.get(); // replica identity
+        short columnCount = buffer.getShort();
+
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            buffer.get(); // flags
+            columns.add(readString(buffer));
+            buffer.getInt(); // type oid
+            buffer.getInt(); // type modifier
+        }
+
+        relations.put(relationId, new Relation(namespace, name, columns));
+    }
+
+    private Message readInsert(ByteBuffer buffer) {
+        int relationId = buffer.getInt();
+        buffer.get(); // 'N' - new tuple marker
+
+        Relation relation = relations.get(relationId);
+        if (relation == null) {
+            throw new IllegalStateException("Insert received for unknown relation " + relationId);
+        }
+
+        short columnCount = buffer.getShort();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            char kind = (char) buffer.get();
+            String value = null;
+            if (kind == 't') {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            values.put(relation.columns().get(i), value);
+        }
+
+        if (!schemaName.equals(relation.namespace()) || !tableName.equals(relation.name())) {
+            return null;
+        }
+        return new Insert(values);
+    }
+
+    private Message readCommit(ByteBuffer buffer) {
+        buffer.get(); // flags
+        buffer.getLong(); // commit LSN
+        long endLsn = buffer.getLong();
+        buffer.getLong(); // commit timestamp
+        return new Commit(endLsn);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // advance to the terminating NUL
+        }
+        byte[] bytes = new byte[buffer.position() - start - 1];
+        buffer.position(start);
+        buffer.get(bytes);
+        buffer.get(); // skip NUL
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    sealed interface Message permits Insert, Commit {}
+
+    record Insert(Map<String, String> values) implements Message {}
+
+    record Commit(long endLsn) implements Message {}
+
+    private record Relation(String namespace, String name, List<String> columns) {}
+}
@@ -0,0 +1,6 @@
+-- Keyset pagination of a user's orders, newest first: WHERE user_id = ? AND (created_at, id) < (?, ?)
+-- ORDER BY created_at DESC, id DESC LIMIT n is a single range scan of this index
+CREATE INDEX idx_orders_user_created_id ON orders(user_id, created_at DESC, id DESC);
+
+-- Its user_id prefix serves every lookup the single-column index did
+DROP INDEX idx_orders_user_id;
@@ -0,0 +1,11 @@
+-- Idempotency-Key of POST /api/v1/orders -> the order it created. The primary key is the
+-- authority when concurrent retries race: only one insert wins, the others replay its order.
+CREATE TABLE order_idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Daily purge of keys past their retention
+CREATE INDEX idx_order_idempotency_keys_created_at ON order_idempotency_keys(created_at);
@@ -0,0 +1,20 @@
+-- Cold storage for orders in a final status (COMPLETED, CANCELLED), moved here by the archive job
+-- once they are old enough, so orders and its indexes only hold recent and in-flight orders.
+-- Monthly partitions are created by the job ahead of each move; only order_id lookups
+-- (GET /api/v1/orders/{orderId} falling back to the archive) are indexed.
+CREATE TABLE orders_archive (
+    id UUID NOT NULL,
+    order_id VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    total DECIMAL(10,2) NOT NULL,
+    items JSONB NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_orders_archive_order_id ON orders_archive(order_id);
+
+CREATE TABLE orders_archive_default PARTITION OF orders_archive DEFAULT;
@@ -0,0 +1,10 @@
+-- Durable LSN checkpoint for the log-tailing outbox relay
+CREATE TABLE outbox_relay_checkpoints (
+    slot_name VARCHAR(255) PRIMARY KEY,
+    lsn VARCHAR(64) NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Publication streamed by the log-tailing relay (pgoutput). Only inserts are
+-- published: marking rows processed must not echo back into the stream.
+CREATE PUBLICATION outbox_events_publication FOR TABLE outbox_events WITH (publish = 'insert');
@@ -0,0 +1,17 @@
+-- Shard every outbox event by a hash of its aggregate, so all events of one order share a shard
+ALTER TABLE outbox_events
+    ADD COLUMN shard SMALLINT GENERATED ALWAYS AS (((hashtext(aggregate_id) & 2147483647) % 16)::SMALLINT) STORED;
+
+-- Create index for polling the unprocessed events of a set of shards
+CREATE INDEX idx_outbox_events_shard_unprocessed ON outbox_events(shard, created_at)
+WHERE processed_at IS NULL;
+
+-- One row per shard; relay instances claim shards with FOR UPDATE SKIP LOCKED so that
+-- concurrent replicas relay disjoint shards and each aggregate keeps a single publisher
+CREATE TABLE outbox_relay_shards (
+    shard SMALLINT PRIMARY KEY,
+    last_relayed_at TIMESTAMP WITH TIME ZONE
+);
+
+INSERT INTO outbox_relay_shards (shard)
+SELECT generate_series(0, 15);
@@ -0,0 +1,15 @@
+-- Wake up outbox relays as soon as new events are committed.
+-- NOTIFY is delivered on commit and identical notifications within a transaction are folded,
+-- so a statement-level trigger costs one notification per writing transaction at most.
+CREATE OR REPLACE FUNCTION notify_outbox_events()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('outbox_events', '');
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER notify_outbox_events
+    AFTER INSERT ON outbox_events
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_outbox_events();
@@ -0,0 +1,8 @@
+-- Binary payload mode: the Avro record is encoded once, in Confluent wire format
+-- (magic byte + schema id + body), and relayed to Kafka unchanged
+ALTER TABLE outbox_events ADD COLUMN payload_avro BYTEA;
+
+ALTER TABLE outbox_events ALTER COLUMN payload DROP NOT NULL;
+
+ALTER TABLE outbox_events ADD CONSTRAINT chk_outbox_events_payload
+    CHECK (payload IS NOT NULL OR payload_avro IS NOT NULL);
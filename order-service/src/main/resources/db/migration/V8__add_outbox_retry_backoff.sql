@@ -0,0 +1,28 @@
+-- Per-event retry state: a failing event is retried with exponential backoff instead of on
+-- every run, and no longer blocks the events queued behind it
+ALTER TABLE outbox_events
+    ADD COLUMN attempt_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN last_error TEXT;
+
+-- Create index for finding aggregates that have a backed-off event still pending
+CREATE INDEX idx_outbox_events_backed_off ON outbox_events(aggregate_id, created_at)
+WHERE processed_at IS NULL AND next_attempt_at IS NOT NULL;
+
+-- Events that kept failing after the maximum number of attempts
+CREATE TABLE outbox_dead_letters (
+    id UUID PRIMARY KEY,
+    aggregate_type VARCHAR(255) NOT NULL,
+    aggregate_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload JSONB,
+    payload_avro BYTEA,
+    headers JSONB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempt_count INTEGER NOT NULL,
+    last_error TEXT,
+    quarantined_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create index on aggregate for tracking quarantined events by aggregate
+CREATE INDEX idx_outbox_dead_letters_aggregate ON outbox_dead_letters(aggregate_type, aggregate_id);
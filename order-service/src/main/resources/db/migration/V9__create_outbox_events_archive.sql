@@ -0,0 +1,32 @@
+-- Optional archive for the delete-on-ack completion mode: published rows are moved here so
+-- outbox_events only holds the in-flight backlog. No indexes beyond the primary key; it is
+-- written in bulk, rarely read, and retired by dropping whole daily partitions.
+CREATE TABLE outbox_events_archive (
+    id UUID NOT NULL,
+    aggregate_type VARCHAR(255) NOT NULL,
+    aggregate_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload JSONB,
+    payload_avro BYTEA,
+    headers JSONB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempt_count INTEGER NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE outbox_events_archive_default PARTITION OF outbox_events_archive DEFAULT;
+
+DO $$
+DECLARE
+    day DATE;
+BEGIN
+    FOR day IN
+        SELECT generate_series((now() AT TIME ZONE 'UTC')::date - 7, (now() AT TIME ZONE 'UTC')::date + 3, interval '1 day')::date
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE outbox_events_archive_p%s PARTITION OF outbox_events_archive FOR VALUES FROM (%L) TO (%L)',
+            to_char(day, 'YYYYMMDD'), day::text || ' 00:00:00+00', (day + 1)::text || ' 00:00:00+00');
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,90 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderItemDto;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.service.OrderGroupCommitWriter;
+import com.example.orderservice.service.OrderIdempotencyService;
+import com.example.orderservice.service.OrderService;
+import com.example.orderservice.service.OrderStreamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderStreamService orderStreamService;
+
+    @Mock
+    private OrderGroupCommitWriter orderGroupCommitWriter;
+
+    @Mock
+    private OrderIdempotencyService orderIdempotencyService;
+
+    private OrderController orderController;
+
+    private final CreateOrderRequest request = new CreateOrderRequest(
+            "user-1", List.of(new OrderItemDto("SKU-1", 1, new BigDecimal("9.99"))));
+
+    @BeforeEach
+    void setUp() {
+        orderController = new OrderController(orderService, orderStreamService, orderGroupCommitWriter, orderIdempotencyService);
+        ReflectionTestUtils.setField(orderController, "groupCommitTimeoutMs", 50L);
+    }
+
+    @Test
+    void createOrder_ShouldAnswerCreatedWhenTheGroupCommitSucceeds() {
+        // Given
+        OrderResponse created = new OrderResponse();
+        when(orderGroupCommitWriter.submit(request)).thenReturn(CompletableFuture.completedFuture(created));
+
+        // When
+        ResponseEntity<OrderResponse> response = orderController.createOrder(null, request);
+
+        // Then
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertSame(created, response.getBody());
+    }
+
+    @Test
+    void createOrder_ShouldAnswerBadRequestWhenTheGroupCommitRejectsTheOrder() {
+        // Given
+        when(orderGroupCommitWriter.submit(request))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Invalid item")));
+
+        // When
+        ResponseEntity<OrderResponse> response = orderController.createOrder(null, request);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void createOrder_ShouldAnswerServerErrorWhenTheGroupCommitTimesOut() {
+        // Given
+        when(orderGroupCommitWriter.submit(request)).thenReturn(new CompletableFuture<>());
+
+        // When
+        ResponseEntity<OrderResponse> response = orderController.createOrder(null, request);
+
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.dto.OutboxReplayRequest;
+import com.example.orderservice.dto.OutboxReplayStatus;
+import com.example.orderservice.service.OutboxReplayService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxAdminControllerTest {
+
+    @Mock
+    private OutboxReplayService outboxReplayService;
+
+    private OutboxAdminController outboxAdminController;
+
+    private final OutboxReplayRequest request = new OutboxReplayRequest(
+            Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-02T00:00:00Z"), null, null, 100);
+
+    @BeforeEach
+    void setUp() {
+        outboxAdminController = new OutboxAdminController(outboxReplayService);
+    }
+
+    @Test
+    void startReplay_ShouldAcceptTheReplay() {
+        // Given
+        OutboxReplayStatus status = status(UUID.randomUUID());
+        when(outboxReplayService.startReplay(request)).thenReturn(status);
+
+        // When
+        ResponseEntity<OutboxReplayStatus> response = outboxAdminController.startReplay(request);
+
+        // Then
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertSame(status, response.getBody());
+    }
+
+    @Test
+    void startReplay_ShouldRejectAnInvalidRange() {
+        // Given
+        when(outboxReplayService.startReplay(request)).thenThrow(new IllegalArgumentException("Replay range must end after it starts"));
+
+        // When
+        ResponseEntity<OutboxReplayStatus> response = outboxAdminController.startReplay(request);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void getReplay_ShouldReturnNotFoundForUnknownJobs() {
+        // Given
+        UUID jobId = UUID.randomUUID();
+        when(outboxReplayService.getReplay(jobId)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<OutboxReplayStatus> response = outboxAdminController.getReplay(jobId);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void cancelReplay_ShouldReturnTheCancelledReplay() {
+        // Given
+        UUID jobId = UUID.randomUUID();
+        OutboxReplayStatus status = status(jobId);
+        when(outboxReplayService.cancelReplay(jobId)).thenReturn(Optional.of(status));
+
+        // When
+        ResponseEntity<OutboxReplayStatus> response = outboxAdminController.cancelReplay(jobId);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(status, response.getBody());
+    }
+
+    private OutboxReplayStatus status(UUID jobId) {
+        return new OutboxReplayStatus(jobId, "QUEUED", request, 100, 0, 0, 0, 0, null, null, null, null);
+    }
+}
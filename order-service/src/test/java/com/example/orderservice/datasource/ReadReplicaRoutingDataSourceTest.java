@@ -0,0 +1,88 @@
+package com.example.orderservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private ReadReplicaPools pools;
+
+    @Mock
+    private HikariDataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    private MeterRegistry meterRegistry;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(pools.getPrimary()).thenReturn(primary);
+        when(pools.targetDataSources()).thenReturn(Map.of(ReadReplicaPools.PRIMARY, primary, "replica-1", replica));
+        routingDataSource = new ReadReplicaRoutingDataSource(pools, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void determineCurrentLookupKey_ShouldUsePrimaryOutsideReadOnlyTransactions() {
+        // When
+        Object key = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(ReadReplicaPools.PRIMARY, key);
+        verify(pools, never()).nextAvailableReplica();
+        assertEquals(1.0, meterRegistry.get("datasource.routing").tag("reason", "read-write").counter().count());
+    }
+
+    @Test
+    void determineCurrentLookupKey_ShouldUseAvailableReplicaForReadOnlyTransactions() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(pools.nextAvailableReplica()).thenReturn(Optional.of("replica-1"));
+
+        // When
+        Object key = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals("replica-1", key);
+        assertEquals(1.0, meterRegistry.get("datasource.routing").tags("pool", "replica-1", "reason", "read-only").counter().count());
+    }
+
+    @Test
+    void determineCurrentLookupKey_ShouldFallBackToPrimaryWhenNoReplicaIsAvailable() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(pools.nextAvailableReplica()).thenReturn(Optional.empty());
+
+        // When
+        Object key = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(ReadReplicaPools.PRIMARY, key);
+        assertEquals(1.0, meterRegistry.get("datasource.routing").tag("reason", "fallback").counter().count());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.orderservice.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusTest {
+
+    @Test
+    void ancestors_ShouldNeverContainTheStatusItself() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertFalse(status.ancestors().contains(status), status + " is its own ancestor");
+        }
+    }
+
+    @Test
+    void paidAndReserved_ShouldBeSiblingsNotPredecessorsOfEachOther() {
+        assertFalse(OrderStatus.RESERVED.canTransitionFrom(OrderStatus.PAID));
+        assertFalse(OrderStatus.PAID.canTransitionFrom(OrderStatus.RESERVED));
+        assertEquals(EnumSet.of(OrderStatus.NEW), OrderStatus.PAID.ancestors());
+        assertEquals(EnumSet.of(OrderStatus.NEW), OrderStatus.RESERVED.ancestors());
+    }
+
+    @Test
+    void shipped_ShouldBeReachableThroughEitherSibling() {
+        assertTrue(OrderStatus.SHIPPED.canTransitionFrom(OrderStatus.PAID));
+        assertTrue(OrderStatus.SHIPPED.canTransitionFrom(OrderStatus.RESERVED));
+        assertEquals(EnumSet.of(OrderStatus.NEW, OrderStatus.PAID, OrderStatus.RESERVED), OrderStatus.SHIPPED.ancestors());
+    }
+
+    @Test
+    void isFinal_ShouldHoldOnlyForCompletedAndCancelled() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertEquals(status == OrderStatus.COMPLETED || status == OrderStatus.CANCELLED, status.isFinal(), status.name());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.orderservice.kafka;
+
+import com.example.events.OrderStatusChanged;
+import io.confluent.kafka.schemaregistry.testutil.MockSchemaRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvroPayloadEncoderTest {
+
+    private static final String SCOPE = "avro-payload-encoder-test";
+
+    private final AvroPayloadEncoder encoder = new AvroPayloadEncoder(Map.of("schema.registry.url", "mock://" + SCOPE));
+
+    @AfterEach
+    void tearDown() {
+        MockSchemaRegistry.dropScope(SCOPE);
+    }
+
+    @Test
+    void resolveSchema_ShouldRegisterUnderTheTopicValueSubject() throws Exception {
+        // When
+        encoder.resolveSchema("order.status-changed", OrderStatusChanged.getClassSchema());
+
+        // Then
+        assertTrue(MockSchemaRegistry.getClientForScope(SCOPE).getAllSubjects().contains("order.status-changed-value"));
+    }
+
+    @Test
+    void encode_ShouldUseTheSchemaIdResolvedUpFront() throws Exception {
+        // Given
+        int schemaId = encoder.resolveSchema("order.status-changed", OrderStatusChanged.getClassSchema());
+        OrderStatusChanged event = OrderStatusChanged.newBuilder()
+                .setOrderId("ORD-1")
+                .setUserId("USER-1")
+                .setPreviousStatus("NEW")
+                .setNewStatus("PAID")
+                .setUpdatedAt("2024-01-01T00:00:00Z")
+                .setVersion(1)
+                .build();
+
+        // When
+        byte[] encoded = encoder.encode("order.status-changed", event);
+
+        // Then - Confluent wire format: magic byte, then the 4-byte schema id
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        assertEquals(0, buffer.get());
+        assertEquals(schemaId, buffer.getInt());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.orderservice.kafka;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PassThroughAvroSerializerTest {
+
+    private final PassThroughAvroSerializer serializer = new PassThroughAvroSerializer();
+
+    @Test
+    void serialize_ShouldForwardPreEncodedBytesUnchanged() {
+        // Given
+        byte[] encoded = {0, 0, 0, 0, 7, 2, 4, 6};
+
+        // When
+        byte[] result = serializer.serialize("order.events", encoded);
+
+        // Then
+        assertSame(encoded, result);
+    }
+
+    @Test
+    void serialize_WithHeaders_ShouldForwardPreEncodedBytesUnchanged() {
+        // Given
+        byte[] encoded = {0, 0, 0, 0, 7, 2, 4, 6};
+
+        // When
+        byte[] result = serializer.serialize("order.events", new RecordHeaders(), encoded);
+
+        // Then
+        assertSame(encoded, result);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.orderservice.listener;
+
+import com.example.events.InventoryReserved;
+import com.example.events.PaymentAuthorized;
+import com.example.events.PaymentFailed;
+import com.example.events.ShippingScheduled;
+import com.example.orderservice.entity.OrderStatus;
+import com.example.orderservice.service.OrderService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SagaStatusListenerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private SagaStatusListener sagaStatusListener;
+
+    private long offset;
+
+    @BeforeEach
+    void setUp() {
+        sagaStatusListener = new SagaStatusListener(orderService);
+    }
+
+    @Test
+    void handleSagaReplies_ShouldApplyOneStatusPerOrderInOneCall() {
+        // Given
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record("payment.authorized", paymentAuthorized("ORD-1")),
+                record("inventory.reserved", inventoryReserved("ORD-2")),
+                record("shipping.scheduled", shippingScheduled("ORD-1")),
+                record("payment.failed", paymentFailed("ORD-3")));
+        when(orderService.applySagaStatuses(any())).thenReturn(3);
+
+        // When
+        sagaStatusListener.handleSagaReplies(records);
+
+        // Then
+        verify(orderService).applySagaStatuses(Map.of(
+                "ORD-1", OrderStatus.SHIPPED,
+                "ORD-2", OrderStatus.RESERVED,
+                "ORD-3", OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void foldStatuses_ShouldNotStepBackOnLateReplies() {
+        // Given
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record("shipping.scheduled", shippingScheduled("ORD-1")),
+                record("inventory.reserved", inventoryReserved("ORD-1")),
+                record("payment.authorized", paymentAuthorized("ORD-1")));
+
+        // When
+        Map<String, OrderStatus> statuses = SagaStatusListener.foldStatuses(records);
+
+        // Then
+        assertEquals(Map.of("ORD-1", OrderStatus.SHIPPED), statuses);
+    }
+
+    @Test
+    void foldStatuses_ShouldKeepPaidWhenReservationArrivesSecond() {
+        // Given
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record("payment.authorized", paymentAuthorized("ORD-1")),
+                record("inventory.reserved", inventoryReserved("ORD-1")));
+
+        // When
+        Map<String, OrderStatus> statuses = SagaStatusListener.foldStatuses(records);
+
+        // Then
+        assertEquals(Map.of("ORD-1", OrderStatus.PAID), statuses);
+    }
+
+    @Test
+    void foldStatuses_ShouldKeepReservedWhenPaymentArrivesSecond() {
+        // Given
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record("inventory.reserved", inventoryReserved("ORD-1")),
+                record("payment.authorized", paymentAuthorized("ORD-1")));
+
+        // When
+        Map<String, OrderStatus> statuses = SagaStatusListener.foldStatuses(records);
+
+        // Then
+        assertEquals(Map.of("ORD-1", OrderStatus.RESERVED), statuses);
+    }
+
+    @Test
+    void foldStatuses_ShouldNotMoveSidewaysOnDuplicateReplies() {
+        // Given
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record("payment.authorized", paymentAuthorized("ORD-1")),
+                record("inventory.reserved", inventoryReserved("ORD-1")),
+                record("payment.authorized", paymentAuthorized("ORD-1")));
+
+        // When
+        Map<String, OrderStatus> statuses = SagaStatusListener.foldStatuses(records);
+
+        // Then
+        assertEquals(Map.of("ORD-1", OrderStatus.PAID), statuses);
+    }
+
+    @Test
+    void foldStatuses_ShouldNotCancelAShippedOrder() {
+        // Given
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record("shipping.scheduled", shippingScheduled("ORD-1")),
+                record("payment.failed", paymentFailed("ORD-1")));
+
+        // When
+        Map<String, OrderStatus> statuses = SagaStatusListener.foldStatuses(records);
+
+        // Then
+        assertEquals(Map.of("ORD-1", OrderStatus.SHIPPED), statuses);
+    }
+
+    @Test
+    void handleSagaReplies_ShouldSkipUndeserializableRecords() {
+        // Given
+        List<ConsumerRecord<String, Object>> records = new ArrayList<>();
+        records.add(record("payment.authorized", null));
+
+        // When
+        sagaStatusListener.handleSagaReplies(records);
+
+        // Then
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void handleSagaReplies_ShouldRethrowSoTheBatchIsRedelivered() {
+        // Given
+        List<ConsumerRecord<String, Object>> records = List.of(record("payment.authorized", paymentAuthorized("ORD-1")));
+        when(orderService.applySagaStatuses(any())).thenThrow(new RuntimeException("database down"));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> sagaStatusListener.handleSagaReplies(records));
+    }
+
+    private ConsumerRecord<String, Object> record(String topic, Object value) {
+        return new ConsumerRecord<>(topic, 0, offset++, null, value);
+    }
+
+    private static PaymentAuthorized paymentAuthorized(String orderId) {
+        return new PaymentAuthorized(orderId, "PAY-1", 10.0, "2024-01-01T00:00:00Z", 1);
+    }
+
+    private static PaymentFailed paymentFailed(String orderId) {
+        return new PaymentFailed(orderId, "PAY-1", "declined", "2024-01-01T00:00:00Z", 1);
+    }
+
+    private static InventoryReserved inventoryReserved(String orderId) {
+        return new InventoryReserved(orderId, List.of(), "WH-1", "2024-01-01T00:00:00Z", 1);
+    }
+
+    private static ShippingScheduled shippingScheduled(String orderId) {
+        return new ShippingScheduled(orderId, "SH-1", "UPS", "2024-01-03", "2024-01-01T00:00:00Z", 1);
+    }
+}
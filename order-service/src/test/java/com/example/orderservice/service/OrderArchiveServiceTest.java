@@ -0,0 +1,99 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrderArchiveService orderArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderArchiveService = new OrderArchiveService(orderRepository, jdbcTemplate, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(orderArchiveService, "enabled", true);
+        ReflectionTestUtils.setField(orderArchiveService, "minAge", Duration.ofDays(90));
+        ReflectionTestUtils.setField(orderArchiveService, "chunkSize", 2);
+        ReflectionTestUtils.setField(orderArchiveService, "chunkPauseMs", 0L);
+        ReflectionTestUtils.setField(orderArchiveService, "maxChunksPerRun", 10);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void archiveOrders_ShouldMoveChunksUntilOneIsShort() {
+        // Given
+        when(orderRepository.findOldestArchivable(any())).thenReturn(Optional.of(Instant.now().minus(100, ChronoUnit.DAYS)));
+        when(orderRepository.archiveFinalOrders(any(), eq(2))).thenReturn(2, 2, 1);
+
+        // When
+        orderArchiveService.archiveOrders();
+
+        // Then
+        verify(orderRepository, times(3)).archiveFinalOrders(any(), eq(2));
+        assertEquals(5.0, meterRegistry.get("orders.archived").counter().count());
+    }
+
+    @Test
+    void archiveOrders_ShouldCreateMonthlyPartitionsFromOldestArchivableOrder() {
+        // Given
+        Instant oldest = Instant.parse("2024-01-15T00:00:00Z");
+        when(orderRepository.findOldestArchivable(any())).thenReturn(Optional.of(oldest));
+        when(orderRepository.archiveFinalOrders(any(), eq(2))).thenReturn(0);
+
+        // When
+        orderArchiveService.archiveOrders();
+
+        // Then
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeast(2)).execute(ddl.capture());
+        assertEquals("CREATE TABLE IF NOT EXISTS orders_archive_p202401 PARTITION OF orders_archive "
+                + "FOR VALUES FROM ('2024-01-01T00:00:00Z') TO ('2024-02-01T00:00:00Z')", ddl.getAllValues().get(0));
+        assertTrue(ddl.getAllValues().get(1).startsWith("CREATE TABLE IF NOT EXISTS orders_archive_p202402 "));
+    }
+
+    @Test
+    void archiveOrders_WhenDisabled_ShouldDoNothing() {
+        // Given
+        ReflectionTestUtils.setField(orderArchiveService, "enabled", false);
+
+        // When
+        orderArchiveService.archiveOrders();
+
+        // Then
+        verifyNoInteractions(orderRepository, jdbcTemplate);
+    }
+}
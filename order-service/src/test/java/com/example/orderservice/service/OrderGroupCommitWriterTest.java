@@ -0,0 +1,134 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.BatchCreateOrderResponse;
+import com.example.orderservice.dto.BatchOrderResult;
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderItemDto;
+import com.example.orderservice.dto.OrderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderGroupCommitWriterTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrderGroupCommitWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new OrderGroupCommitWriter(orderService, meterRegistry);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "maxBatch", 10);
+        ReflectionTestUtils.setField(writer, "maxWaitMs", 500L);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void submit_ShouldCommitConcurrentOrdersTogether() throws Exception {
+        // Given
+        OrderResponse first = new OrderResponse();
+        OrderResponse second = new OrderResponse();
+        when(orderService.createOrders(any())).thenReturn(new BatchCreateOrderResponse(List.of(
+                BatchOrderResult.created(0, first), BatchOrderResult.created(1, second))));
+        writer.start();
+
+        // When
+        CompletableFuture<OrderResponse> firstFuture = writer.submit(request("user-1"));
+        CompletableFuture<OrderResponse> secondFuture = writer.submit(request("user-2"));
+
+        // Then
+        assertSame(first, firstFuture.get(5, TimeUnit.SECONDS));
+        assertSame(second, secondFuture.get(5, TimeUnit.SECONDS));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateOrderRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orderService, times(1)).createOrders(captor.capture());
+        assertEquals(List.of("user-1", "user-2"), captor.getValue().stream().map(CreateOrderRequest::getUserId).toList());
+        verify(orderService, never()).createOrder(any());
+        assertEquals(2.0, meterRegistry.get("orders.group.commit.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void submit_WhenOrderFailsInBatch_ShouldFailOnlyThatCallerWithTheOriginalException() throws Exception {
+        // Given
+        OrderResponse created = new OrderResponse();
+        IllegalArgumentException invalid = new IllegalArgumentException("constraint violation");
+        when(orderService.createOrders(any())).thenReturn(new BatchCreateOrderResponse(List.of(
+                BatchOrderResult.failed(0, invalid), BatchOrderResult.created(1, created))));
+        writer.start();
+
+        // When
+        CompletableFuture<OrderResponse> failedFuture = writer.submit(request("user-1"));
+        CompletableFuture<OrderResponse> createdFuture = writer.submit(request("user-2"));
+
+        // Then
+        assertSame(created, createdFuture.get(5, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> failedFuture.get(5, TimeUnit.SECONDS));
+        assertSame(invalid, failure.getCause());
+    }
+
+    @Test
+    void submit_AfterStop_ShouldCreateOrderDirectly() {
+        // Given
+        OrderResponse created = new OrderResponse();
+        CreateOrderRequest request = request("user-1");
+        when(orderService.createOrder(request)).thenReturn(created);
+        writer.start();
+        writer.stop();
+
+        // When
+        CompletableFuture<OrderResponse> future = writer.submit(request);
+
+        // Then: never queued behind a writer that is gone
+        assertSame(created, future.getNow(null));
+        verify(orderService, never()).createOrders(any());
+    }
+
+    @Test
+    void submit_WhenDisabled_ShouldCreateOrderDirectly() {
+        // Given
+        ReflectionTestUtils.setField(writer, "enabled", false);
+        OrderResponse created = new OrderResponse();
+        CreateOrderRequest request = request("user-1");
+        when(orderService.createOrder(request)).thenReturn(created);
+        writer.start();
+
+        // When
+        CompletableFuture<OrderResponse> future = writer.submit(request);
+
+        // Then
+        assertSame(created, future.join());
+        verify(orderService, never()).createOrders(any());
+    }
+
+    private static CreateOrderRequest request(String userId) {
+        return new CreateOrderRequest(userId, List.of(new OrderItemDto("SKU-1", 1, new BigDecimal("9.99"))));
+    }
+}
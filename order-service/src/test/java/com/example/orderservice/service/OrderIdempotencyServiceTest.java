@@ -0,0 +1,159 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderItemDto;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.entity.OrderIdempotencyKey;
+import com.example.orderservice.repository.OrderIdempotencyKeyRepository;
+import com.example.orderservice.service.OrderIdempotencyService.IdempotentResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        orderIdempotencyService = new OrderIdempotencyService(orderService, idempotencyKeyRepository,
+                transactionTemplate, new ObjectMapper(), new SimpleMeterRegistry(), 100, Duration.ofHours(24));
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+    }
+
+    @Test
+    void createOrder_ShouldCreateOnceAndReplayRetriesFromMemory() {
+        // Given
+        CreateOrderRequest request = request("user-1");
+        OrderResponse created = order("ORD-1");
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(orderService.createOrder(request)).thenReturn(created);
+        when(idempotencyKeyRepository.claim(eq("key-1"), anyString(), eq("ORD-1"))).thenReturn(1);
+
+        // When
+        IdempotentResult first = orderIdempotencyService.createOrder("key-1", request);
+        IdempotentResult retry = orderIdempotencyService.createOrder("key-1", request("user-1"));
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertSame(created, retry.order());
+        verify(orderService, times(1)).createOrder(any());
+        verify(idempotencyKeyRepository, times(1)).findById("key-1");
+    }
+
+    @Test
+    void createOrder_ShouldReplayOrderRecordedInDatabase() throws Exception {
+        // Given
+        CreateOrderRequest request = request("user-1");
+        String requestHash = hash(request);
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(key("key-1", requestHash, "ORD-1")));
+        when(orderService.getOrder("ORD-1")).thenReturn(Optional.of(order("ORD-1")));
+
+        // When
+        IdempotentResult result = orderIdempotencyService.createOrder("key-1", request);
+
+        // Then
+        assertTrue(result.replayed());
+        assertEquals("ORD-1", result.order().getOrderId());
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void createOrder_ShouldRejectKeyReusedWithDifferentRequest() {
+        // Given
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(key("key-1", "other-hash", "ORD-1")));
+
+        // When & Then
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> orderIdempotencyService.createOrder("key-1", request("user-1")));
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void createOrder_ShouldRollBackAndReplayWhenConcurrentRetryClaimedKeyFirst() throws Exception {
+        // Given
+        CreateOrderRequest request = request("user-1");
+        String requestHash = hash(request);
+        when(idempotencyKeyRepository.findById("key-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(key("key-1", requestHash, "ORD-1")));
+        when(orderService.createOrder(request)).thenReturn(order("ORD-2"));
+        when(idempotencyKeyRepository.claim(eq("key-1"), anyString(), eq("ORD-2"))).thenReturn(0);
+        when(orderService.getOrder("ORD-1")).thenReturn(Optional.of(order("ORD-1")));
+
+        // When
+        IdempotentResult result = orderIdempotencyService.createOrder("key-1", request);
+
+        // Then
+        verify(transactionStatus).setRollbackOnly();
+        assertTrue(result.replayed());
+        assertEquals("ORD-1", result.order().getOrderId());
+    }
+
+    @Test
+    void createOrder_ShouldRejectOverlongKey() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderIdempotencyService.createOrder("k".repeat(256), request("user-1")));
+    }
+
+    private static String hash(CreateOrderRequest request) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(new ObjectMapper().writeValueAsBytes(request));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static OrderIdempotencyKey key(String idempotencyKey, String requestHash, String orderId) {
+        OrderIdempotencyKey key = new OrderIdempotencyKey();
+        key.setIdempotencyKey(idempotencyKey);
+        key.setRequestHash(requestHash);
+        key.setOrderId(orderId);
+        key.setCreatedAt(Instant.now());
+        return key;
+    }
+
+    private static OrderResponse order(String orderId) {
+        OrderResponse order = new OrderResponse();
+        order.setOrderId(orderId);
+        return order;
+    }
+
+    private static CreateOrderRequest request(String userId) {
+        return new CreateOrderRequest(userId, List.of(new OrderItemDto("SKU-1", 2, new BigDecimal("9.99"))));
+    }
+}
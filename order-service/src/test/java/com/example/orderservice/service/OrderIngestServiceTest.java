@@ -0,0 +1,118 @@
+package com.example.orderservice.service;
+
+import com.example.events.OrderRequest;
+import com.example.events.OrderRequestReply;
+import com.example.events.RequestedItem;
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.service.OrderIdempotencyService.KeyedResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIngestServiceTest {
+
+    @Mock
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private OrderIngestService orderIngestService;
+
+    @BeforeEach
+    void setUp() {
+        orderIngestService = new OrderIngestService(orderIdempotencyService,
+                Validation.buildDefaultValidatorFactory().getValidator(), kafkaTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(orderIngestService, "replyTopic", "order.request-replies");
+
+        lenient().when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void ingest_ShouldCreateValidRequestsAndRejectInvalidOnes() {
+        // Given
+        List<OrderRequest> requests = List.of(request("req-1", "user-1", 2), request("req-2", "user-2", 0));
+        when(orderIdempotencyService.createOrders(any())).thenReturn(Map.of("req-1", new KeyedResult("ORD-1", false, null)));
+
+        // When
+        List<OrderRequestReply> replies = orderIngestService.ingest(requests);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, CreateOrderRequest>> valid = ArgumentCaptor.forClass(Map.class);
+        verify(orderIdempotencyService).createOrders(valid.capture());
+        assertEquals(List.of("req-1"), List.copyOf(valid.getValue().keySet()));
+
+        assertTrue(replies.get(0).getAccepted());
+        assertEquals("ORD-1", replies.get(0).getOrderId());
+        assertFalse(replies.get(1).getAccepted());
+        assertNull(replies.get(1).getOrderId());
+        assertEquals(1, replies.get(1).getErrors().size());
+        assertTrue(replies.get(1).getErrors().get(0).startsWith("items[0].qty"));
+
+        verify(kafkaTemplate).send(eq("order.request-replies"), eq("req-1"), eq(replies.get(0)));
+        verify(kafkaTemplate).send(eq("order.request-replies"), eq("req-2"), eq(replies.get(1)));
+    }
+
+    @Test
+    void ingest_ShouldAnswerRepeatsWithinPollFromOneOrder() {
+        // Given
+        List<OrderRequest> requests = List.of(request("req-1", "user-1", 2), request("req-1", "user-1", 2),
+                request("req-1", "user-9", 2));
+        when(orderIdempotencyService.createOrders(any())).thenReturn(Map.of("req-1", new KeyedResult("ORD-1", true, null)));
+
+        // When
+        List<OrderRequestReply> replies = orderIngestService.ingest(requests);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, CreateOrderRequest>> valid = ArgumentCaptor.forClass(Map.class);
+        verify(orderIdempotencyService).createOrders(valid.capture());
+        assertEquals(1, valid.getValue().size());
+
+        assertEquals("ORD-1", replies.get(0).getOrderId());
+        assertEquals("ORD-1", replies.get(1).getOrderId());
+        assertFalse(replies.get(2).getAccepted());
+    }
+
+    @Test
+    void ingest_ShouldRejectRequestsTheIdempotencyServiceCouldNotCreate() {
+        // Given
+        when(orderIdempotencyService.createOrders(any()))
+                .thenReturn(Map.of("req-1", new KeyedResult(null, false, "database unavailable")));
+
+        // When
+        List<OrderRequestReply> replies = orderIngestService.ingest(List.of(request("req-1", "user-1", 2)));
+
+        // Then
+        assertFalse(replies.get(0).getAccepted());
+        assertEquals(List.of("database unavailable"), replies.get(0).getErrors());
+    }
+
+    private static OrderRequest request(String requestId, String userId, int qty) {
+        return OrderRequest.newBuilder()
+                .setRequestId(requestId)
+                .setUserId(userId)
+                .setItems(List.of(new RequestedItem("SKU-1", qty, 9.99)))
+                .setRequestedAt("2024-01-01T00:00:00Z")
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OrderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderResponseCacheTest {
+
+    private OrderResponseCache orderResponseCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        orderResponseCache = new OrderResponseCache(new SimpleMeterRegistry(), true, 1000, 60000);
+    }
+
+    @Test
+    void get_ShouldCacheLoadedOrders() {
+        // When
+        orderResponseCache.get("ORD-1", this::load);
+        orderResponseCache.get("ORD-1", this::load);
+
+        // Then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_ShouldForceTheNextReadToLoadAgain() {
+        // Given
+        orderResponseCache.get("ORD-1", this::load);
+
+        // When
+        orderResponseCache.invalidate("ORD-1");
+        orderResponseCache.get("ORD-1", this::load);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<OrderResponse> load(String orderId) {
+        loads.incrementAndGet();
+        OrderResponse order = new OrderResponse();
+        order.setOrderId(orderId);
+        return Optional.of(order);
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.orderservice.service;
+
+import com.example.common.id.TimeOrderedIdGenerator;
+import com.example.orderservice.dto.BatchCreateOrderResponse;
+import com.example.orderservice.dto.BatchOrderResult;
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderItemDto;
+import com.example.orderservice.dto.OrderPageResponse;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.entity.OrderStatus;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderRepositoryCustom.StatusTransition;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OrderEventService orderEventService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        OrderResponseCache orderResponseCache = new OrderResponseCache(new SimpleMeterRegistry(), true, 1000, 60000);
+        orderService = new OrderService(orderRepository, outboxEventRepository, new ObjectMapper(),
+                orderEventService, transactionTemplate, orderResponseCache, new TimeOrderedIdGenerator(1));
+        ReflectionTestUtils.setField(orderService, "batchChunkSize", 2);
+        ReflectionTestUtils.setField(orderService, "maxPageSize", 100);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createOrders_ShouldWriteOneTransactionPerChunk() {
+        // Given
+        List<CreateOrderRequest> requests = List.of(request("user-1"), request("user-2"), request("user-3"));
+
+        // When
+        BatchCreateOrderResponse response = orderService.createOrders(requests);
+
+        // Then
+        assertEquals(3, response.getCreated());
+        assertEquals(0, response.getFailed());
+        assertEquals(List.of(0, 1, 2), response.getResults().stream().map(BatchOrderResult::getIndex).toList());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(orderEventService, times(3)).createOrderCreatedEvent(any(), anyList());
+    }
+
+    @Test
+    void createOrders_WhenChunkFails_ShouldReportOnlyFailingOrder() {
+        // Given
+        doAnswer(invocation -> {
+            if ("user-2".equals(invocation.<Order>getArgument(0).getUserId())) {
+                throw new IllegalStateException("outbox insert failed");
+            }
+            return null;
+        }).when(orderEventService).createOrderCreatedEvent(any(), anyList());
+        List<CreateOrderRequest> requests = List.of(request("user-1"), request("user-2"), request("user-3"));
+
+        // When
+        BatchCreateOrderResponse response = orderService.createOrders(requests);
+
+        // Then
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        List<BatchOrderResult> results = response.getResults();
+        assertEquals(BatchOrderResult.CREATED, results.get(0).getStatus());
+        assertEquals(BatchOrderResult.FAILED, results.get(1).getStatus());
+        assertEquals("outbox insert failed", results.get(1).getError());
+        assertEquals(BatchOrderResult.CREATED, results.get(2).getStatus());
+        assertEquals("user-3", results.get(2).getOrder().getUserId());
+    }
+
+    @Test
+    void getOrder_ShouldServeRepeatedReadsFromCache() {
+        // Given
+        when(orderRepository.findByOrderId("ORD-1")).thenReturn(Optional.of(order("ORD-1", OrderStatus.NEW)));
+
+        // When
+        Optional<OrderResponse> first = orderService.getOrder("ORD-1");
+        Optional<OrderResponse> second = orderService.getOrder("ORD-1");
+
+        // Then
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        assertEquals(1, first.get().getItems().size());
+        verify(orderRepository, times(1)).findByOrderId("ORD-1");
+    }
+
+    @Test
+    void getOrder_WhenMovedToArchive_ShouldFallBackToArchive() {
+        // Given
+        when(orderRepository.findByOrderId("ORD-1")).thenReturn(Optional.empty());
+        when(orderRepository.findArchivedByOrderId("ORD-1")).thenReturn(Optional.of(order("ORD-1", OrderStatus.COMPLETED)));
+
+        // When
+        Optional<OrderResponse> order = orderService.getOrder("ORD-1");
+
+        // Then
+        assertTrue(order.isPresent());
+        assertEquals(OrderStatus.COMPLETED, order.get().getStatus());
+    }
+
+    @Test
+    void updateOrderStatus_ShouldInvalidateCachedOrder() {
+        // Given
+        Order paid = order("ORD-1", OrderStatus.PAID);
+        when(orderRepository.findByOrderId("ORD-1"))
+                .thenReturn(Optional.of(order("ORD-1", OrderStatus.NEW)), Optional.of(paid));
+        when(orderRepository.transitionStatus("ORD-1", OrderStatus.PAID))
+                .thenReturn(Optional.of(new StatusTransition(paid, OrderStatus.NEW)));
+        orderService.getOrder("ORD-1");
+
+        // When
+        orderService.updateOrderStatus("ORD-1", OrderStatus.PAID);
+        Optional<OrderResponse> afterUpdate = orderService.getOrder("ORD-1");
+
+        // Then
+        assertEquals(OrderStatus.PAID, afterUpdate.get().getStatus());
+        verify(orderEventService).createStatusChangeEvent(paid, OrderStatus.NEW, OrderStatus.PAID);
+        verify(orderRepository, times(2)).findByOrderId(eq("ORD-1"));
+    }
+
+    @Test
+    void updateOrderStatus_FromFinalStatus_ShouldRejectTransition() {
+        // Given
+        when(orderRepository.transitionStatus("ORD-1", OrderStatus.PAID)).thenReturn(Optional.empty());
+        when(orderRepository.findByOrderId("ORD-1")).thenReturn(Optional.of(order("ORD-1", OrderStatus.CANCELLED)));
+
+        // When
+        OrderStatusTransitionException e = assertThrows(OrderStatusTransitionException.class,
+                () -> orderService.updateOrderStatus("ORD-1", OrderStatus.PAID));
+
+        // Then
+        assertEquals(OrderStatus.CANCELLED, e.getCurrentStatus());
+        verify(orderEventService, never()).createStatusChangeEvent(any(), any(), any());
+    }
+
+    @Test
+    void updateOrderStatus_ForUnknownOrder_ShouldReportNotFound() {
+        // Given
+        when(orderRepository.transitionStatus("ORD-404", OrderStatus.PAID)).thenReturn(Optional.empty());
+        when(orderRepository.findByOrderId("ORD-404")).thenReturn(Optional.empty());
+
+        // When
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> orderService.updateOrderStatus("ORD-404", OrderStatus.PAID));
+
+        // Then
+        assertFalse(e instanceof OrderStatusTransitionException);
+        assertTrue(e.getMessage().contains("not found"));
+    }
+
+    @Test
+    void getOrdersByUserPage_ShouldContinueAfterLastOrderOfPreviousPage() {
+        // Given
+        Order newest = order("ORD-3", OrderStatus.NEW);
+        Order middle = order("ORD-2", OrderStatus.NEW);
+        Order oldest = order("ORD-1", OrderStatus.NEW);
+        middle.setId(UUID.randomUUID());
+        middle.setCreatedAt(Instant.parse("2024-05-01T10:15:30.123456Z"));
+        when(orderRepository.findFirstPageByUserId("user-1", 3)).thenReturn(List.of(newest, middle, oldest));
+        when(orderRepository.findPageByUserIdAfter("user-1", middle.getCreatedAt(), middle.getId(), 3))
+                .thenReturn(List.of(oldest));
+
+        // When
+        OrderPageResponse firstPage = orderService.getOrdersByUserPage("user-1", 2, null);
+        OrderPageResponse lastPage = orderService.getOrdersByUserPage("user-1", 2, firstPage.getNextCursor());
+
+        // Then
+        assertEquals(List.of("ORD-3", "ORD-2"), firstPage.getOrders().stream().map(OrderResponse::getOrderId).toList());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of("ORD-1"), lastPage.getOrders().stream().map(OrderResponse::getOrderId).toList());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void getOrdersByUserPage_WithMalformedCursor_ShouldRejectIt() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrdersByUserPage("user-1", 10, "not-a-cursor"));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static Order order(String orderId, OrderStatus status) {
+        return new Order(orderId, "user-1", new BigDecimal("19.98"),
+                "[{\"sku\":\"SKU-1\",\"qty\":2,\"price\":9.99}]", status);
+    }
+
+    private static CreateOrderRequest request(String userId) {
+        return new CreateOrderRequest(userId, List.of(new OrderItemDto("SKU-1", 2, new BigDecimal("9.99"))));
+    }
+}
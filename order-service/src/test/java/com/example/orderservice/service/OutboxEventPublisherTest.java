@@ -0,0 +1,94 @@
+package com.example.orderservice.service;
+
+import com.example.events.OrderStatusChanged;
+import com.example.orderservice.config.OutboxRoutingProperties;
+import com.example.orderservice.entity.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private OutboxEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        OutboxRoutingProperties.Route statusChanged = new OutboxRoutingProperties.Route();
+        statusChanged.setTopic("order.status-changed");
+
+        OutboxRoutingProperties routing = new OutboxRoutingProperties();
+        routing.setDefaultTopic("order.events");
+        routing.setRoutes(Map.of("OrderStatusChanged", statusChanged));
+
+        publisher = new OutboxEventPublisher(kafkaTemplate, new ObjectMapper(), routing);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void send_AvroRoute_ShouldPublishTypedRecordOnRoutedTopic() throws Exception {
+        // Given
+        OutboxEvent event = event("OrderStatusChanged",
+                "{\"orderId\":\"ORD-1\",\"userId\":\"user-1\",\"previousStatus\":\"PENDING\"," +
+                "\"newStatus\":\"PAID\",\"updatedAt\":\"2024-01-01T00:00:00Z\"}");
+
+        // When
+        publisher.send(event);
+
+        // Then
+        ProducerRecord<String, Object> record = sentRecord();
+        assertEquals("order.status-changed", record.topic());
+        assertEquals("ORD-1", record.key());
+        OrderStatusChanged value = assertInstanceOf(OrderStatusChanged.class, record.value());
+        assertEquals("PAID", value.getNewStatus());
+        assertEquals(1, value.getVersion());
+    }
+
+    @Test
+    void send_UnroutedEventType_ShouldPublishRawJsonOnDefaultTopic() throws Exception {
+        // Given
+        String payload = "{\"orderId\":\"ORD-1\"}";
+        OutboxEvent event = event("OrderArchived", payload);
+
+        // When
+        publisher.send(event);
+
+        // Then
+        ProducerRecord<String, Object> record = sentRecord();
+        assertEquals("order.events", record.topic());
+        assertArrayEquals(payload.getBytes(StandardCharsets.UTF_8), (byte[]) record.value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, Object> sentRecord() {
+        ArgumentCaptor<ProducerRecord<String, Object>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        return record.getValue();
+    }
+
+    private static OutboxEvent event(String eventType, String payload) {
+        OutboxEvent event = new OutboxEvent("Order", "ORD-1", eventType, payload, null);
+        event.setId(UUID.randomUUID());
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxFailureHandlerTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxFailureHandler failureHandler;
+
+    private OutboxEvent event;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        failureHandler = new OutboxFailureHandler(outboxEventRepository, meterRegistry);
+        ReflectionTestUtils.setField(failureHandler, "maxAttempts", 3);
+        ReflectionTestUtils.setField(failureHandler, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(failureHandler, "maxBackoffMs", 60000L);
+
+        event = new OutboxEvent("Order", "ORD-1", "OrderCreated", "{}", null);
+        event.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void onFailure_BelowMaxAttempts_ShouldBackOffWithoutQuarantining() {
+        // Given
+        when(outboxEventRepository.recordFailure(eq(event.getId()), anyString(), eq(1000L), eq(60000L))).thenReturn(2);
+
+        // When
+        failureHandler.onFailure(event, new IllegalArgumentException("unparseable payload"));
+
+        // Then
+        verify(outboxEventRepository, never()).quarantine(any());
+    }
+
+    @Test
+    void onFailure_AtMaxAttempts_ShouldMoveEventToDeadLetters() {
+        // Given
+        when(outboxEventRepository.recordFailure(eq(event.getId()), anyString(), anyLong(), anyLong())).thenReturn(3);
+        when(outboxEventRepository.quarantine(event.getId())).thenReturn(true);
+
+        // When
+        failureHandler.onFailure(event, new IllegalArgumentException("unparseable payload"));
+
+        // Then
+        verify(outboxEventRepository).quarantine(event.getId());
+        assertEquals(1.0, meterRegistry.get("outbox.events.quarantined").tag("event_type", "OrderCreated").counter().count());
+    }
+}
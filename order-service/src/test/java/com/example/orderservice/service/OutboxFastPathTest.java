@@ -0,0 +1,140 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxFastPathTest {
+
+    @Mock
+    private OutboxRelay outboxRelay;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxFastPath outboxFastPath;
+
+    private final List<List<OutboxEvent>> relayed = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxFastPath = new OutboxFastPath(outboxRelay, outboxEventRepository);
+        ReflectionTestUtils.setField(outboxFastPath, "maxBatch", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxFastPath.stop();
+    }
+
+    @Test
+    void enqueue_ShouldKeepOrderWithinAnAggregate() {
+        // Given
+        BlockingQueue<OutboxEvent> queue = new ArrayBlockingQueue<>(10);
+        ReflectionTestUtils.setField(outboxFastPath, "queue", queue);
+        OutboxEvent first = event("ORD-1");
+        OutboxEvent second = event("ORD-1");
+        OutboxEvent third = event("ORD-1");
+
+        // When
+        outboxFastPath.enqueue(first);
+        outboxFastPath.enqueue(second);
+        outboxFastPath.enqueue(third);
+
+        // Then
+        assertEquals(List.of(first, second, third), new ArrayList<>(queue));
+    }
+
+    @Test
+    void dispatch_ShouldKeepAggregateOrderAfterAQueueFullDrop() throws Exception {
+        // Given - a one-slot queue and a relay that holds its first batch until released
+        CountDownLatch firstBatchEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(outboxRelay.relayPipelined(any())).thenAnswer(invocation -> {
+            relayed.add(List.copyOf(invocation.<List<OutboxEvent>>getArgument(0)));
+            if (relayed.size() == 1) {
+                firstBatchEntered.countDown();
+                releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            }
+            return Set.of();
+        });
+        // What the table reports once the dropped ORD-A event has been deferred
+        when(outboxEventRepository.findAggregatesWithPendingRetries(any())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).contains("ORD-A") ? Set.of("ORD-A") : Set.of());
+        start(1);
+        OutboxEvent inFlight = event("ORD-X");
+        OutboxEvent queued = event("ORD-B");
+        OutboxEvent dropped = event("ORD-A");
+        OutboxEvent later = event("ORD-A");
+
+        // When
+        outboxFastPath.enqueue(inFlight);
+        assertTrue(firstBatchEntered.await(5, TimeUnit.SECONDS));
+        outboxFastPath.enqueue(queued);
+        outboxFastPath.enqueue(dropped);
+        releaseFirstBatch.countDown();
+        verify(outboxEventRepository, timeout(1000)).defer(List.of(dropped.getId()));
+        outboxFastPath.enqueue(later);
+        verify(outboxEventRepository, timeout(1000)).defer(List.of(later.getId()));
+
+        // Then - the dropped event is deferred before the later one is checked, and neither goes out here
+        InOrder inOrder = inOrder(outboxEventRepository);
+        inOrder.verify(outboxEventRepository).defer(List.of(dropped.getId()));
+        inOrder.verify(outboxEventRepository).findAggregatesWithPendingRetries(Set.of("ORD-A"));
+        inOrder.verify(outboxEventRepository).defer(List.of(later.getId()));
+        assertTrue(relayed.stream().flatMap(List::stream).noneMatch(event -> event == dropped || event == later));
+        assertEquals(List.of(inFlight), relayed.get(0));
+        assertEquals(List.of(queued), relayed.get(1));
+    }
+
+    @Test
+    void dispatch_ShouldDeferTheBatchWhenTheRelayFails() throws Exception {
+        // Given
+        when(outboxRelay.relayPipelined(any())).thenThrow(new IllegalStateException("producer closed"));
+        start(10);
+        OutboxEvent event = event("ORD-1");
+
+        // When
+        outboxFastPath.enqueue(event);
+
+        // Then - the failed event blocks its aggregate through the table, not through memory
+        verify(outboxEventRepository, timeout(1000)).defer(List.of(event.getId()));
+    }
+
+    private void start(int queueCapacity) {
+        ReflectionTestUtils.setField(outboxFastPath, "enabled", true);
+        ReflectionTestUtils.setField(outboxFastPath, "queueCapacity", queueCapacity);
+        outboxFastPath.start();
+    }
+
+    private static OutboxEvent event(String aggregateId) {
+        OutboxEvent event = new OutboxEvent("Order", aggregateId, "OrderCreated", "{}", null);
+        event.setId(UUID.randomUUID());
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.repository.OutboxRelayCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxLogTailingRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxRelayCheckpointRepository checkpointRepository;
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Mock
+    private OutboxFailureHandler failureHandler;
+
+    @Mock
+    private OutboxCompletion outboxCompletion;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private OutboxLogTailingRelay outboxLogTailingRelay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxMetrics outboxMetrics = new OutboxMetrics(new SimpleMeterRegistry(), outboxEventRepository);
+        outboxLogTailingRelay = new OutboxLogTailingRelay(outboxEventRepository, checkpointRepository,
+                outboxEventPublisher, outboxMetrics, failureHandler, outboxCompletion,
+                new DataSourceProperties(), jdbcTemplate);
+    }
+
+    @Test
+    void relayTransaction_ShouldSkipEventsThePollerAlreadyHandled() throws Exception {
+        // Given
+        OutboxEvent relayedByPoller = event("ORD-1");
+        OutboxEvent pending = event("ORD-2");
+        when(outboxEventRepository.findUnattemptedIds(List.of(relayedByPoller.getId(), pending.getId())))
+                .thenReturn(Set.of(pending.getId()));
+
+        // When
+        outboxLogTailingRelay.relayTransaction(List.of(relayedByPoller, pending));
+
+        // Then
+        verify(outboxEventPublisher).publish(pending);
+        verify(outboxEventPublisher, never()).publish(relayedByPoller);
+        verify(outboxCompletion).complete(List.of(pending.getId()));
+    }
+
+    @Test
+    void relayTransaction_ShouldPublishNothingWhenEveryEventWasHandled() throws Exception {
+        // Given
+        OutboxEvent relayedByPoller = event("ORD-1");
+        when(outboxEventRepository.findUnattemptedIds(List.of(relayedByPoller.getId()))).thenReturn(Set.of());
+
+        // When
+        outboxLogTailingRelay.relayTransaction(List.of(relayedByPoller));
+
+        // Then
+        verify(outboxEventPublisher, never()).publish(any());
+        verifyNoInteractions(outboxCompletion);
+    }
+
+    private static OutboxEvent event(String aggregateId) {
+        OutboxEvent event = new OutboxEvent("Order", aggregateId, "OrderCreated", "{}", null);
+        event.setId(UUID.randomUUID());
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+}
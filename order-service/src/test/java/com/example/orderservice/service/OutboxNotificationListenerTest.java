@@ -0,0 +1,18 @@
+package com.example.orderservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxNotificationListenerTest {
+
+    @Test
+    void listenStatement_ShouldQuoteTheChannelTheTriggerNotifies() {
+        assertEquals("LISTEN \"outbox_events\"", OutboxNotificationListener.listenStatement(OutboxNotificationListener.CHANNEL));
+    }
+
+    @Test
+    void listenStatement_ShouldKeepCaseAndEscapeQuotes() {
+        assertEquals("LISTEN \"Outbox\"\"Events\"", OutboxNotificationListener.listenStatement("Outbox\"Events"));
+    }
+}
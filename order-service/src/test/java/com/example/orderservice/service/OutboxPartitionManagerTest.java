@@ -0,0 +1,110 @@
+package com.example.orderservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxPartitionManagerTest {
+
+    private static final String EXPIRED = partition(30);
+    private static final String OLDER_EXPIRED = partition(31);
+    private static final String RECENT = partition(1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxPartitionManager outboxPartitionManager;
+
+    @BeforeEach
+    void setUp() {
+        outboxPartitionManager = new OutboxPartitionManager(jdbcTemplate, transactionTemplate);
+        ReflectionTestUtils.setField(outboxPartitionManager, "retentionDays", 7);
+        ReflectionTestUtils.setField(outboxPartitionManager, "premakeDays", 1);
+        ReflectionTestUtils.setField(outboxPartitionManager, "archiveRetentionDays", 30);
+        ReflectionTestUtils.setField(outboxPartitionManager, "lockTimeoutMs", 5000L);
+
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("outbox_events_archive"))).thenReturn(List.of());
+    }
+
+    @Test
+    void maintainPartitions_ShouldLockTheParentBeforeDroppingAnExpiredPartition() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("outbox_events"))).thenReturn(List.of(EXPIRED, RECENT));
+        runTransactionsInline();
+        when(jdbcTemplate.queryForObject(contains(EXPIRED), eq(Boolean.class))).thenReturn(false);
+
+        // When
+        outboxPartitionManager.maintainPartitions();
+
+        // Then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = 5000");
+        inOrder.verify(jdbcTemplate).execute("LOCK TABLE ONLY outbox_events IN ACCESS EXCLUSIVE MODE");
+        inOrder.verify(jdbcTemplate).execute("LOCK TABLE " + EXPIRED + " IN ACCESS EXCLUSIVE MODE");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE " + EXPIRED);
+        verify(jdbcTemplate, never()).execute("LOCK TABLE " + RECENT + " IN ACCESS EXCLUSIVE MODE");
+    }
+
+    @Test
+    void maintainPartitions_ShouldKeepExpiredPartitionsWithUnprocessedEvents() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("outbox_events"))).thenReturn(List.of(EXPIRED));
+        runTransactionsInline();
+        when(jdbcTemplate.queryForObject(contains(EXPIRED), eq(Boolean.class))).thenReturn(true);
+
+        // When
+        outboxPartitionManager.maintainPartitions();
+
+        // Then
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + EXPIRED);
+    }
+
+    @Test
+    void maintainPartitions_ShouldMoveOnWhenThePartitionCannotBeLocked() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("outbox_events"))).thenReturn(List.of(OLDER_EXPIRED, EXPIRED));
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.queryForObject(contains(EXPIRED), eq(Boolean.class))).thenReturn(false);
+
+        // When
+        outboxPartitionManager.maintainPartitions();
+
+        // Then
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + OLDER_EXPIRED);
+        verify(jdbcTemplate).execute("DROP TABLE " + EXPIRED);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static String partition(int daysAgo) {
+        return "outbox_events_p" + LocalDate.now(ZoneOffset.UTC).minusDays(daysAgo).format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.orderservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxRelayPacingTest {
+
+    private final OutboxRelayPacing pacing = new OutboxRelayPacing(true, 100, 1000, 250, 5000, 200);
+
+    @Test
+    void onPass_FullBatch_ShouldGrowBatchAndRepollImmediately() {
+        // When
+        pacing.onPass(100, true);
+
+        // Then
+        assertEquals(200, pacing.batchSize());
+        assertEquals(Duration.ZERO, pacing.nextDelay());
+    }
+
+    @Test
+    void onPass_EmptyBacklog_ShouldBackOffExponentiallyUpToPollingInterval() {
+        // When / Then
+        pacing.onPass(0, false);
+        assertEquals(Duration.ofMillis(500), pacing.nextDelay());
+        pacing.onPass(0, false);
+        assertEquals(Duration.ofMillis(1000), pacing.nextDelay());
+
+        for (int i = 0; i < 10; i++) {
+            pacing.onPass(0, false);
+        }
+        assertEquals(Duration.ofMillis(5000), pacing.nextDelay());
+    }
+
+    @Test
+    void onPass_SlowSends_ShouldShrinkBatchTowardsLatencyTarget() {
+        // Given
+        pacing.onPass(100, true);
+        pacing.onPass(200, true);
+        pacing.recordSendLatency(Duration.ofMillis(800).toNanos());
+
+        // When
+        pacing.onPass(400, false);
+
+        // Then
+        assertEquals(100, pacing.batchSize());
+    }
+
+    @Test
+    void onPass_WhenDisabled_ShouldKeepFixedBatchSizeAndInterval() {
+        // Given
+        OutboxRelayPacing fixed = new OutboxRelayPacing(false, 100, 1000, 250, 5000, 200);
+
+        // When
+        fixed.onPass(100, true);
+
+        // Then
+        assertEquals(100, fixed.batchSize());
+        assertEquals(Duration.ofMillis(5000), fixed.nextDelay());
+    }
+}
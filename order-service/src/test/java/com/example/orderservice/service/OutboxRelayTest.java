@@ -0,0 +1,180 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Mock
+    private OutboxRelayPacing pacing;
+
+    @Mock
+    private OutboxFailureHandler failureHandler;
+
+    @Mock
+    private OutboxCompletion outboxCompletion;
+
+    @Mock
+    private ObjectProvider<OutboxLogTailingRelay> logTailingRelay;
+
+    @Mock
+    private ObjectProvider<OutboxNotificationListener> notificationListener;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        OutboxMetrics outboxMetrics = new OutboxMetrics(meterRegistry, outboxEventRepository);
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxEventPublisher, outboxMetrics, pacing,
+                failureHandler, outboxCompletion, logTailingRelay, notificationListener, transactionTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "maxInFlight", 2);
+    }
+
+    @Test
+    void relayPipelined_ShouldAcknowledgeWholeBatchWithOneUpdate() throws Exception {
+        // Given
+        OutboxEvent first = event("ORD-1");
+        OutboxEvent second = event("ORD-2");
+        OutboxEvent third = event("ORD-1");
+        when(outboxEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        outboxRelay.relayPipelined(List.of(first, second, third));
+
+        // Then
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), acknowledgedIds());
+        verify(outboxEventPublisher, times(3)).send(any());
+    }
+
+    @Test
+    void relayPipelined_ShouldNotAcknowledgeEventsBehindAFailedEventOfTheSameAggregate() throws Exception {
+        // Given
+        OutboxEvent failed = event("ORD-1");
+        OutboxEvent behindFailed = event("ORD-1");
+        OutboxEvent otherAggregate = event("ORD-2");
+        when(outboxEventPublisher.send(failed))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+        when(outboxEventPublisher.send(otherAggregate)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        outboxRelay.relayPipelined(List.of(failed, behindFailed, otherAggregate));
+
+        // Then
+        assertEquals(List.of(otherAggregate.getId()), acknowledgedIds());
+        verify(failureHandler).onFailure(eq(failed), any(IllegalStateException.class));
+        verify(outboxEventRepository).defer(List.of(behindFailed.getId()));
+        verify(outboxEventPublisher, never()).send(behindFailed);
+        assertEquals(1.0, meterRegistry.get("outbox.publish.failures").tag("event_type", "OrderCreated").counter().count());
+        assertTrue(meterRegistry.get("outbox.publish.latency").timer().count() >= 1);
+    }
+
+    @Test
+    void relayPipelined_ShouldSendTheNextEventOfAnAggregateOnlyOnceThePreviousIsAcknowledged() throws Exception {
+        // Given
+        OutboxEvent first = event("ORD-1");
+        OutboxEvent second = event("ORD-1");
+        OutboxEvent otherAggregate = event("ORD-2");
+        CompletableFuture<Object> firstAck = new CompletableFuture<>();
+        when(outboxEventPublisher.send(first)).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> firstAck.complete(null), CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+            return firstAck;
+        });
+        when(outboxEventPublisher.send(second)).thenAnswer(invocation -> {
+            assertTrue(firstAck.isDone(), "second event sent while the first was still in flight");
+            return CompletableFuture.completedFuture(null);
+        });
+        when(outboxEventPublisher.send(otherAggregate)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        outboxRelay.relayPipelined(List.of(first, second, otherAggregate));
+
+        // Then
+        assertEquals(List.of(first.getId(), otherAggregate.getId(), second.getId()), acknowledgedIds());
+        InOrder sends = inOrder(outboxEventPublisher);
+        sends.verify(outboxEventPublisher).send(first);
+        sends.verify(outboxEventPublisher).send(otherAggregate);
+        sends.verify(outboxEventPublisher).send(second);
+    }
+
+    @Test
+    void relayEvents_ShouldSkipPollingWhileNotificationsWakeTheRelay() {
+        // Given
+        OutboxNotificationListener listener = mock(OutboxNotificationListener.class);
+        when(notificationListener.getIfAvailable()).thenReturn(listener);
+        when(listener.isListening()).thenReturn(true);
+        ReflectionTestUtils.setField(outboxRelay, "notifyFallbackIntervalMs", 60000L);
+        ReflectionTestUtils.setField(outboxRelay, "lastPassStartedAt", System.currentTimeMillis());
+
+        // When
+        outboxRelay.relayEvents();
+
+        // Then
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void relayEvents_ShouldPollOnceTheNotifyFallbackIntervalHasPassed() {
+        // Given
+        OutboxNotificationListener listener = mock(OutboxNotificationListener.class);
+        when(notificationListener.getIfAvailable()).thenReturn(listener);
+        when(listener.isListening()).thenReturn(true);
+        ReflectionTestUtils.setField(outboxRelay, "notifyFallbackIntervalMs", 60000L);
+        ReflectionTestUtils.setField(outboxRelay, "shardsPerClaim", 4);
+
+        // When
+        outboxRelay.relayEvents();
+
+        // Then
+        verify(transactionTemplate).execute(any());
+    }
+
+    private List<UUID> acknowledgedIds() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxCompletion).complete(ids.capture());
+        return List.copyOf(ids.getValue());
+    }
+
+    private static OutboxEvent event(String aggregateId) {
+        OutboxEvent event = new OutboxEvent("Order", aggregateId, "OrderCreated", "{}", null);
+        event.setId(UUID.randomUUID());
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OutboxReplayRequest;
+import com.example.orderservice.dto.OutboxReplayStatus;
+import com.example.orderservice.entity.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxReplayServiceTest {
+
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2024-01-02T00:00:00Z");
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxReplayService outboxReplayService;
+
+    @BeforeEach
+    void setUp() {
+        outboxReplayService = new OutboxReplayService(outboxEventPublisher, jdbcTemplate, transactionManager, 2, 1);
+        ReflectionTestUtils.setField(outboxReplayService, "defaultRate", 1000);
+        ReflectionTestUtils.setField(outboxReplayService, "maxRate", 1000);
+        ReflectionTestUtils.setField(outboxReplayService, "maxInFlight", 10);
+    }
+
+    @Test
+    void startReplay_ShouldReadKeysetPagesInSeparateShortTransactions() throws Exception {
+        // Given
+        OutboxEvent first = event(FROM.plusSeconds(1));
+        OutboxEvent second = event(FROM.plusSeconds(2));
+        OutboxEvent third = event(FROM.plusSeconds(3));
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of(first, second), List.of(third));
+        when(outboxEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        OutboxReplayStatus status = await(outboxReplayService.startReplay(new OutboxReplayRequest(FROM, TO, null, null, null)));
+
+        // Then
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(3, status.getRead());
+        assertEquals(3, status.getPublished());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).query(sql.capture(), any(PreparedStatementSetter.class), any(RowMapper.class));
+        assertFalse(sql.getAllValues().get(0).contains("(created_at, id) >"));
+        assertTrue(sql.getAllValues().get(1).contains("(created_at, id) > (?, ?)"));
+        assertTrue(sql.getAllValues().get(1).endsWith("ORDER BY created_at, id LIMIT 2"));
+
+        // Each page's transaction is committed before its events are sent
+        InOrder inOrder = inOrder(transactionManager, outboxEventPublisher);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(outboxEventPublisher).send(first);
+        inOrder.verify(outboxEventPublisher).send(second);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(outboxEventPublisher).send(third);
+    }
+
+    @Test
+    void startReplay_ShouldUnionTheArchiveWhenEnabled() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(outboxReplayService, "archiveEnabled", true);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        // When
+        OutboxReplayStatus status = await(outboxReplayService.startReplay(new OutboxReplayRequest(FROM, TO, "ORD-1", null, null)));
+
+        // Then
+        assertEquals("COMPLETED", status.getState());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(PreparedStatementSetter.class), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("FROM outbox_events_archive"));
+        assertTrue(sql.getValue().contains("aggregate_id = ?"));
+        verifyNoInteractions(outboxEventPublisher);
+    }
+
+    @Test
+    void startReplay_ShouldCountFailedSends() throws Exception {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of(event(FROM.plusSeconds(1))));
+        when(outboxEventPublisher.send(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        // When
+        OutboxReplayStatus status = await(outboxReplayService.startReplay(new OutboxReplayRequest(FROM, TO, null, null, null)));
+
+        // Then
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(1, status.getFailed());
+        assertEquals(0, status.getPublished());
+    }
+
+    @Test
+    void startReplay_ShouldRejectAnEmptyRange() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> outboxReplayService.startReplay(new OutboxReplayRequest(TO, FROM, null, null, null)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void cancelReplay_ShouldReturnEmptyForUnknownJobs() {
+        // When & Then
+        assertTrue(outboxReplayService.cancelReplay(UUID.randomUUID()).isEmpty());
+    }
+
+    private OutboxReplayStatus await(OutboxReplayStatus started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            OutboxReplayStatus status = outboxReplayService.getReplay(started.getJobId()).orElseThrow();
+            if (!"QUEUED".equals(status.getState()) && !"RUNNING".equals(status.getState())) {
+                return status;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "replay did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    private static OutboxEvent event(Instant createdAt) {
+        OutboxEvent event = new OutboxEvent("Order", "ORD-1", "OrderCreated", "{}", null);
+        event.setId(UUID.randomUUID());
+        event.setCreatedAt(createdAt.truncatedTo(ChronoUnit.MICROS));
+        return event;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.orderservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgOutputDecoderTest {
+
+    private final PgOutputDecoder decoder = new PgOutputDecoder("public", "outbox_events");
+
+    @Test
+    void decode_ShouldReturnInsertForWatchedTable() throws IOException {
+        // Given
+        decoder.decode(relation(16384, "public", "outbox_events", List.of("id", "event_type", "headers")));
+
+        // When
+        PgOutputDecoder.Message message = decoder.decode(
+                insert(16384, "1b4e28ba-2fa1-11d2-883f-0016d3cca427", "OrderCreated", null));
+
+        // Then
+        PgOutputDecoder.Insert insert = assertInstanceOf(PgOutputDecoder.Insert.class, message);
+        assertEquals("1b4e28ba-2fa1-11d2-883f-0016d3cca427", insert.values().get("id"));
+        assertEquals("OrderCreated", insert.values().get("event_type"));
+        assertTrue(insert.values().containsKey("headers"));
+        assertNull(insert.values().get("headers"));
+    }
+
+    @Test
+    void decode_ShouldIgnoreInsertsIntoOtherTables() throws IOException {
+        // Given
+        decoder.decode(relation(16400, "public", "orders", List.of("id", "status", "user_id")));
+
+        // When
+        PgOutputDecoder.Message message = decoder.decode(insert(16400, "42", "NEW", "user-1"));
+
+        // Then
+        assertNull(message);
+    }
+
+    @Test
+    void decode_ShouldReturnCommitEndLsn() throws IOException {
+        // Given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('C');
+        out.writeByte(0);
+        out.writeLong(0x16B3748L);
+        out.writeLong(0x16B3780L);
+        out.writeLong(0L);
+
+        // When
+        PgOutputDecoder.Message message = decoder.decode(ByteBuffer.wrap(bytes.toByteArray()));
+
+        // Then
+        PgOutputDecoder.Commit commit = assertInstanceOf(PgOutputDecoder.Commit.class, message);
+        assertEquals(0x16B3780L, commit.endLsn());
+    }
+
+    @Test
+    void decode_ShouldFailOnInsertForUnknownRelation() throws IOException {
+        ByteBuffer message = insert(99, "a", "b", "c");
+
+        assertThrows(IllegalStateException.class, () -> decoder.decode(message));
+    }
+
+    private static ByteBuffer relation(int relationId, String namespace, String name, List<String> columns)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('R');
+        out.writeInt(relationId);
+        writeString(out, namespace);
+        writeString(out, name);
+        out.writeByte('d');
+        out.writeShort(columns.size());
+        for (String column : columns) {
+            out.writeByte(0);
+            writeString(out, column);
+            out.writeInt(25);
+            out.writeInt(-1);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static ByteBuffer insert(int relationId, String... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('I');
+        out.writeInt(relationId);
+        out.writeByte('N');
+        out.writeShort(values.length);
+        for (String value : values) {
+            if (value == null) {
+                out.writeByte('n');
+            } else {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                out.writeByte('t');
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+}
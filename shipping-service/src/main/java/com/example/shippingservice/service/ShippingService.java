@@ -1,17 +1,18 @@
 package com.example.shippingservice.service;
 
+import com.example.common.id.TimeOrderedIdGenerator;
 import com.example.events.InventoryReserved;
 import com.example.events.PaymentAuthorized;
 import com.example.events.ShippingScheduled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Random;
-import java.util.UUID;
 
 @Service
 public class ShippingService {
@@ -23,6 +24,12 @@ public class ShippingService {
     );
 
     private final Random random = new Random();
+    private final TimeOrderedIdGenerator idGenerator;
+
+    @Autowired
+    public ShippingService(TimeOrderedIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     public ShippingScheduled scheduleShipping(PaymentAuthorized payment, InventoryReserved inventory) {
         log.info("Scheduling shipping for order: {}", payment.getOrderId());
@@ -47,7 +54,7 @@ public class ShippingService {
     }
 
     private String generateShipmentId() {
-        return "SH-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextId("SH-");
     }
 
     private String selectCarrier(double amount, int itemCount) {